@@ -0,0 +1,83 @@
+package com.example.booktalk.data.dao;
+
+import android.content.Context;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import com.example.booktalk.data.db.AppDbHelper;
+import com.example.booktalk.data.db.DbContract;
+import com.example.booktalk.data.model.Book;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+/**
+ * BookDao.findAuthorName against a real books table (what QueryClassifier relies on
+ * for "title by author" and author-only searches)
+ */
+@RunWith(AndroidJUnit4.class)
+public class BookDaoTest {
+    private Context context;
+    private AppDbHelper dbHelper;
+    private BookDao bookDao;
+    
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DbContract.DATABASE_NAME);
+        dbHelper = new AppDbHelper(context);
+        bookDao = new BookDao(dbHelper.getWritableDatabase());
+        
+        bookDao.upsertBook(new Book("dune", "Dune", "Frank Herbert", "https://covers/dune", "Arrakis"));
+        bookDao.upsertBook(new Book("lhod", "The Left Hand of Darkness", "Ursula K. Le Guin", "https://covers/lhod", "Gethen"));
+        bookDao.upsertBook(new Book("goodomens", "Good Omens", "Terry Pratchett, Neil Gaiman", "https://covers/go", "Armageddon"));
+        bookDao.upsertBook(new Book("percent", "Odd Names", "100% Real_Author", "https://covers/odd", "Wildcards"));
+    }
+    
+    @After
+    public void tearDown() {
+        dbHelper.close();
+    }
+    
+    @Test
+    public void findAuthorName_exactName_returnsStoredSpelling() {
+        assertEquals("Frank Herbert", bookDao.findAuthorName("Frank Herbert"));
+    }
+    
+    @Test
+    public void findAuthorName_ignoresCaseDotsAndSpacing() {
+        assertEquals("Frank Herbert", bookDao.findAuthorName("  frank   HERBERT "));
+        assertEquals("Ursula K. Le Guin", bookDao.findAuthorName("ursula k le guin"));
+        assertEquals("Ursula K. Le Guin", bookDao.findAuthorName("Ursula K.Le Guin"));
+    }
+    
+    @Test
+    public void findAuthorName_matchesEachCoAuthor() {
+        assertEquals("Neil Gaiman", bookDao.findAuthorName("neil gaiman"));
+        assertEquals("Terry Pratchett", bookDao.findAuthorName("Terry Pratchett"));
+    }
+    
+    @Test
+    public void findAuthorName_partialName_isNull() {
+        assertNull(bookDao.findAuthorName("Herbert"));
+        assertNull(bookDao.findAuthorName("Brian Herbert"));
+        assertNull(bookDao.findAuthorName("Terry Pratchett Neil Gaiman"));
+    }
+    
+    @Test
+    public void findAuthorName_unknownOrBlank_isNull() {
+        assertNull(bookDao.findAuthorName("Nobody Known"));
+        assertNull(bookDao.findAuthorName("Dune"));
+        assertNull(bookDao.findAuthorName("   "));
+    }
+    
+    @Test
+    public void findAuthorName_likeWildcardsAreLiteral() {
+        assertEquals("100% Real_Author", bookDao.findAuthorName("100% real_author"));
+        assertNull(bookDao.findAuthorName("100% %"));
+        assertNull(bookDao.findAuthorName("Frank _erbert"));
+    }
+}
+
@@ -0,0 +1,165 @@
+package com.example.booktalk.data.repository;
+
+import android.content.Context;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import com.example.booktalk.data.dao.HomeDao;
+import com.example.booktalk.data.db.AppDbHelper;
+import com.example.booktalk.data.db.DbContract;
+import com.example.booktalk.data.model.Category;
+import com.example.booktalk.data.remote.ApiEndpoints;
+import com.example.booktalk.data.remote.BookPage;
+import com.example.booktalk.data.remote.BooksApiService;
+import com.example.booktalk.data.remote.CancellationToken;
+import com.example.booktalk.data.remote.CircuitBreaker;
+import com.example.booktalk.data.remote.Deadline;
+import com.example.booktalk.data.remote.QueryBuilder;
+import com.example.booktalk.data.remote.RetrofitClient;
+import com.example.booktalk.fixture.SyntheticBooksApiServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import retrofit2.Call;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * The circuit breaker must close again when the API comes back, with nothing but the home
+ * screen sending requests (no search or detail page to carry the half-open probe)
+ */
+@RunWith(AndroidJUnit4.class)
+public class CircuitBreakerRecoveryTest {
+    private static final long LATENCY_MS = 20;
+    private static final long RECOVERY_TIMEOUT_MS = 30_000;
+    private static final long STALL_MS = 3_000;
+    private static final long SHORT_DEADLINE_MS = 300; // stands in for SEARCH_DEADLINE_MS
+    
+    private SyntheticBooksApiServer server;
+    private AppDbHelper dbHelper;
+    private CircuitBreaker circuitBreaker;
+    
+    @Before
+    public void setUp() throws Exception {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        server = new SyntheticBooksApiServer();
+        server.setLatency(LATENCY_MS, LATENCY_MS, TimeUnit.MILLISECONDS);
+        server.start();
+        RetrofitClient.overrideBaseUrl(server.getBaseUrl());
+        circuitBreaker = RetrofitClient.getInstance().getCircuitBreaker();
+        circuitBreaker.onSuccess(); // start closed, whatever an earlier test left behind
+        
+        context.deleteDatabase(DbContract.DATABASE_NAME);
+        dbHelper = new AppDbHelper(context);
+    }
+    
+    @After
+    public void tearDown() throws Exception {
+        if (server != null) {
+            server.shutdown();
+        }
+    }
+    
+    @Test
+    public void homeRefresh_alone_closesCircuitAfterCoolDown() throws Exception {
+        HomeRepository homeRepository = new HomeRepository(dbHelper);
+        homeRepository.seedCategories();
+        List<Category> categories = new HomeDao(dbHelper.getReadableDatabase()).getAllCategories();
+        
+        // API down: category refreshes trip the breaker
+        server.setErrorRate(1.0, 503);
+        for (int round = 0; round < 5 && circuitBreaker.getState() != CircuitBreaker.State.OPEN; round++) {
+            for (Category category : categories) {
+                try {
+                    homeRepository.refreshCategoryIfOlderThan(category.getCategoryId(), 0);
+                } catch (IOException e) {
+                    // CircuitOpenException once tripped
+                }
+            }
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertTrue(circuitBreaker.isOpen());
+        
+        // API back; once the cool-down is over the breaker no longer reports open
+        server.setErrorRate(0, 503);
+        Thread.sleep(circuitBreaker.getRetryAfterMs() + 100);
+        assertFalse("still open after cool-down", circuitBreaker.isOpen());
+        server.resetCallCounts();
+        
+        // Opening the home screen must send the probe rather than skip the refresh
+        homeRepository.getCategoriesAsync(null);
+        long giveUpAt = System.currentTimeMillis() + RECOVERY_TIMEOUT_MS;
+        while (circuitBreaker.getState() != CircuitBreaker.State.CLOSED && System.currentTimeMillis() < giveUpAt) {
+            Thread.sleep(50);
+        }
+        
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(server.getCallCount(ApiEndpoints.SEARCH) > 0);
+    }
+    
+    @Test
+    public void deadlineExpiries_tripCircuit() throws Exception {
+        // API hanging: every user-facing call runs out its deadline instead of failing
+        server.setLatency(STALL_MS, 0, TimeUnit.MILLISECONDS);
+        BooksApiService apiService = RetrofitClient.getInstance().getApiService();
+        
+        for (int i = 0; i < 10 && circuitBreaker.getState() != CircuitBreaker.State.OPEN; i++) {
+            try {
+                Deadline.after(SHORT_DEADLINE_MS).apply(searchCall(apiService, "stall" + i)).execute();
+                fail("call outlived its deadline");
+            } catch (IOException e) {
+                // Deadline expired (or CircuitOpenException once tripped)
+            }
+        }
+        
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+    
+    @Test
+    public void callerCancels_doNotTripCircuit() throws Exception {
+        server.setLatency(STALL_MS, 0, TimeUnit.MILLISECONDS);
+        BooksApiService apiService = RetrofitClient.getInstance().getApiService();
+        
+        for (int i = 0; i < 10; i++) {
+            CancellationToken cancellation = new CancellationToken();
+            Call<BookPage> call = cancellation.register(searchCall(apiService, "abandoned" + i));
+            Thread canceller = new Thread(() -> {
+                try {
+                    Thread.sleep(SHORT_DEADLINE_MS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                cancellation.cancel();
+            });
+            canceller.start();
+            try {
+                Deadline.after(RECOVERY_TIMEOUT_MS).apply(call).execute();
+                fail("cancelled call returned");
+            } catch (IOException e) {
+                // Cancelled by the caller
+            }
+            canceller.join();
+        }
+        
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+    
+    private static Call<BookPage> searchCall(BooksApiService apiService, String query) {
+        return apiService.searchBookPage(
+            query,
+            20,
+            QueryBuilder.getDefaultPrintType(),
+            QueryBuilder.getDefaultOrderBy(),
+            QueryBuilder.getDefaultLang(),
+            QueryBuilder.getDefaultCountry(),
+            null,
+            QueryBuilder.getListFields(),
+            QueryBuilder.getDefaultProjection(),
+            RetrofitClient.getApiKey()
+        );
+    }
+}
+
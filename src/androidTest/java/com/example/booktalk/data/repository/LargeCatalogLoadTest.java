@@ -0,0 +1,274 @@
+package com.example.booktalk.data.repository;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import com.example.booktalk.data.dao.BookDao;
+import com.example.booktalk.data.dao.HomeDao;
+import com.example.booktalk.data.dao.SearchDao;
+import com.example.booktalk.data.db.AppDbHelper;
+import com.example.booktalk.data.db.DbContract;
+import com.example.booktalk.data.model.Book;
+import com.example.booktalk.data.model.Category;
+import com.example.booktalk.data.remote.ApiEndpoints;
+import com.example.booktalk.data.remote.RetrofitClient;
+import com.example.booktalk.fixture.SyntheticBooksApiServer;
+import com.example.booktalk.util.TaskScheduler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Drives the repositories against SyntheticBooksApiServer with a power user's database
+ * (tens of thousands of books, thousands of cached searches) instead of an empty one
+ */
+@RunWith(AndroidJUnit4.class)
+public class LargeCatalogLoadTest {
+    private static final int SEEDED_BOOKS = 20_000;
+    private static final int SEEDED_SEARCHES = 2_000;
+    private static final int BOOKS_PER_SEARCH = 20;
+    private static final long LATENCY_MS = 50;
+    
+    private Context context;
+    private SyntheticBooksApiServer server;
+    private AppDbHelper dbHelper;
+    
+    @Before
+    public void setUp() throws Exception {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        server = new SyntheticBooksApiServer();
+        server.setLatency(LATENCY_MS, LATENCY_MS, TimeUnit.MILLISECONDS);
+        server.start();
+        RetrofitClient.overrideBaseUrl(server.getBaseUrl());
+        
+        context.deleteDatabase(DbContract.DATABASE_NAME);
+        dbHelper = new AppDbHelper(context);
+        seedDatabase();
+    }
+    
+    @After
+    public void tearDown() throws Exception {
+        if (server != null) {
+            server.shutdown();
+        }
+    }
+    
+    @Test
+    public void search_coldQueriesOnLargeDatabase() throws Exception {
+        SearchRepository searchRepository = new SearchRepository(dbHelper);
+        
+        long startTime = System.currentTimeMillis();
+        int withResults = 0;
+        for (int i = 0; i < 10; i++) {
+            if (!awaitSearch(searchRepository, "load test query " + i).isEmpty()) {
+                withResults++;
+            }
+        }
+        long elapsedMs = System.currentTimeMillis() - startTime;
+        
+        int searchCalls = server.getCallCount(ApiEndpoints.SEARCH);
+        int detailCalls = server.getCallCount(ApiEndpoints.DETAILS);
+        android.util.Log.i("LargeCatalogLoadTest", "10 searches: " + elapsedMs + " ms, " + searchCalls + " search, " + detailCalls + " detail calls, " + withResults + " with results");
+        
+        assertTrue("search calls: " + searchCalls, searchCalls <= 20);
+        // The shared enrichment budget caps detail calls per minute, however many searches run
+        long minutesStarted = elapsedMs / 60_000 + 1;
+        assertTrue("detail calls: " + detailCalls, detailCalls <= 60 * minutesStarted);
+        assertTrue(withResults > 0);
+    }
+    
+    @Test
+    public void search_cachedQueryOnLargeDatabaseIsFast() throws Exception {
+        SearchRepository searchRepository = new SearchRepository(dbHelper);
+        
+        long startTime = System.currentTimeMillis();
+        List<Book> results = awaitSearch(searchRepository, seededQuery(SEEDED_SEARCHES / 2));
+        long elapsedMs = System.currentTimeMillis() - startTime;
+        
+        assertEquals(BOOKS_PER_SEARCH, results.size());
+        assertEquals(0, server.getCallCount(ApiEndpoints.SEARCH));
+        assertTrue("wall time: " + elapsedMs + " ms", elapsedMs < 500);
+    }
+    
+    @Test
+    public void homeRefresh_allCategoriesShareOneBudget() throws Exception {
+        HomeRepository homeRepository = new HomeRepository(dbHelper);
+        homeRepository.seedCategories();
+        List<Category> categories = new HomeDao(dbHelper.getReadableDatabase()).getAllCategories();
+        
+        long startTime = System.currentTimeMillis();
+        for (Category category : categories) {
+            homeRepository.refreshCategoryIfOlderThan(category.getCategoryId(), 0);
+        }
+        long elapsedMs = System.currentTimeMillis() - startTime;
+        
+        int detailCalls = server.getCallCount(ApiEndpoints.DETAILS);
+        android.util.Log.i("LargeCatalogLoadTest", categories.size() + " categories: " + elapsedMs + " ms, " + detailCalls + " detail calls");
+        
+        // Background enrichment may only use its share of the per-minute budget
+        assertTrue("detail calls: " + detailCalls, detailCalls <= 30);
+        for (Category category : categories) {
+            assertFalse(category.getName() + " is empty",
+                    new HomeDao(dbHelper.getReadableDatabase()).getCategoryBooks(category.getCategoryId()).isEmpty());
+        }
+    }
+    
+    @Test
+    public void bookDetails_uncachedVolumesLoadFromApi() throws Exception {
+        BooksRepository booksRepository = new BooksRepository(dbHelper);
+        int lookups = 30;
+        CountDownLatch latch = new CountDownLatch(lookups);
+        AtomicInteger loaded = new AtomicInteger();
+        
+        for (int i = 0; i < lookups; i++) {
+            // Far outside the seeded range, so none of these are in the database
+            booksRepository.getBookByIdAsync(SyntheticBooksApiServer.volumeId(1_000_000 + i * 7919L),
+                    new BooksRepository.BookCallback() {
+                        @Override
+                        public void onBookLoaded(Book book) {
+                            loaded.incrementAndGet();
+                            latch.countDown();
+                        }
+                        
+                        @Override
+                        public void onError(String error) {
+                            latch.countDown();
+                        }
+                    });
+        }
+        
+        assertTrue("lookups timed out", latch.await(60, TimeUnit.SECONDS));
+        assertEquals(lookups, server.getCallCount(ApiEndpoints.DETAILS));
+        assertTrue("loaded: " + loaded.get(), loaded.get() >= lookups * 9 / 10);
+    }
+    
+    @Test
+    public void bookDetails_notQueuedBehindCategoryRefresh() throws Exception {
+        HomeRepository homeRepository = new HomeRepository(dbHelper);
+        homeRepository.seedCategories();
+        BooksRepository booksRepository = new BooksRepository(dbHelper);
+        TaskScheduler scheduler = TaskScheduler.getInstance();
+        scheduler.resetStats();
+        
+        // Every category is stale, so this queues a background refresh per category
+        homeRepository.getCategoriesAsync(null);
+        
+        CountDownLatch latch = new CountDownLatch(1);
+        long startTime = System.currentTimeMillis();
+        booksRepository.getBookByIdAsync(SyntheticBooksApiServer.volumeId(2_000_000), new BooksRepository.BookCallback() {
+            @Override
+            public void onBookLoaded(Book book) {
+                latch.countDown();
+            }
+            
+            @Override
+            public void onError(String error) {
+                latch.countDown();
+            }
+        });
+        assertTrue("lookup timed out", latch.await(30, TimeUnit.SECONDS));
+        long elapsedMs = System.currentTimeMillis() - startTime;
+        android.util.Log.i("LargeCatalogLoadTest", "Detail load during refresh: " + elapsedMs + " ms, " + scheduler);
+        
+        assertTrue("user-blocking wait: " + scheduler.getMaxWaitMs(TaskScheduler.Priority.USER_BLOCKING) + " ms",
+                scheduler.getMaxWaitMs(TaskScheduler.Priority.USER_BLOCKING) < 500);
+    }
+    
+    @Test
+    public void search_errorsAndTailLatency_everySearchCompletes() throws Exception {
+        server.setErrorRate(0.1, 503);
+        server.setTailLatency(0.05, 3, TimeUnit.SECONDS);
+        SearchRepository searchRepository = new SearchRepository(dbHelper);
+        
+        int completed = 0;
+        for (int i = 0; i < 10; i++) {
+            CountDownLatch latch = new CountDownLatch(1);
+            searchRepository.searchBooksAsync("flaky query " + i, new SearchRepository.SearchCallback() {
+                @Override
+                public void onSearchResults(List<Book> books) {
+                    latch.countDown();
+                }
+                
+                @Override
+                public void onError(String error) {
+                    latch.countDown();
+                }
+            });
+            if (latch.await(60, TimeUnit.SECONDS)) {
+                completed++;
+            }
+        }
+        
+        assertEquals(10, completed);
+    }
+    
+    /**
+     * Fill the database with catalog books and cached searches, as a long-time user's would be
+     */
+    private void seedDatabase() {
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        BookDao bookDao = new BookDao(db);
+        SearchDao searchDao = new SearchDao(db);
+        long now = System.currentTimeMillis();
+        
+        db.beginTransaction();
+        try {
+            // Volumes without a cover never make it into books (the decoder drops them)
+            List<String> bookIds = new ArrayList<>();
+            for (int i = 0; i < SEEDED_BOOKS; i++) {
+                Book book = server.bookAt(i);
+                if (book != null) {
+                    bookDao.upsertBook(book);
+                    bookIds.add(book.getBookId());
+                }
+            }
+            
+            for (int s = 0; s < SEEDED_SEARCHES; s++) {
+                String query = seededQuery(s);
+                searchDao.upsertSearchCache(query, now);
+                for (int i = 0; i < BOOKS_PER_SEARCH; i++) {
+                    String bookId = bookIds.get((s * BOOKS_PER_SEARCH + i) % bookIds.size());
+                    searchDao.insertSearchCacheBook(query, bookId, i);
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+    
+    private String seededQuery(int index) {
+        return "seeded search " + index;
+    }
+    
+    private List<Book> awaitSearch(SearchRepository repository, String query) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<List<Book>> results = new AtomicReference<>();
+        repository.searchBooksAsync(query, new SearchRepository.SearchCallback() {
+            @Override
+            public void onSearchResults(List<Book> books) {
+                results.set(books);
+                latch.countDown();
+            }
+            
+            @Override
+            public void onError(String error) {
+                latch.countDown();
+            }
+        });
+        assertTrue("search timed out", latch.await(120, TimeUnit.SECONDS));
+        assertNotNull("search failed", results.get());
+        return results.get();
+    }
+}
+
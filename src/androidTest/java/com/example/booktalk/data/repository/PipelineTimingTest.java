@@ -0,0 +1,195 @@
+package com.example.booktalk.data.repository;
+
+import android.content.Context;
+import android.os.Bundle;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import com.example.booktalk.data.dao.HomeDao;
+import com.example.booktalk.data.db.AppDbHelper;
+import com.example.booktalk.data.db.DbContract;
+import com.example.booktalk.data.model.Book;
+import com.example.booktalk.data.model.Category;
+import com.example.booktalk.data.remote.ApiEndpoints;
+import com.example.booktalk.data.remote.RetrofitClient;
+import com.example.booktalk.fixture.BooksApiReplayServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * End-to-end timing of the home refresh and search pipelines against recorded API responses
+ * Asserts on API call counts and wall time. Replays the checked-in assets/books_api_recordings.json
+ * (a "dune" search and the Romance row); run with booksApiRecord=true to add live recordings
+ */
+@RunWith(AndroidJUnit4.class)
+public class PipelineTimingTest {
+    private static final long LATENCY_MS = 100;
+    
+    private Context context;
+    private BooksApiReplayServer server;
+    private boolean recordMode;
+    
+    @Before
+    public void setUp() throws Exception {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        Bundle arguments = InstrumentationRegistry.getArguments();
+        recordMode = Boolean.parseBoolean(arguments.getString("booksApiRecord", "false"));
+        
+        server = new BooksApiReplayServer(recordMode);
+        server.loadRecordings(InstrumentationRegistry.getInstrumentation().getContext(), context);
+        server.setLatency(recordMode ? 0 : LATENCY_MS, TimeUnit.MILLISECONDS);
+        server.start();
+        RetrofitClient.overrideBaseUrl(server.getBaseUrl());
+        
+        // Start from an empty database so nothing is served from the local cache
+        context.deleteDatabase(DbContract.DATABASE_NAME);
+    }
+    
+    @After
+    public void tearDown() throws Exception {
+        if (server == null) {
+            return;
+        }
+        if (recordMode) {
+            android.util.Log.i("PipelineTimingTest", "Recordings written to " + server.save(context));
+        }
+        server.shutdown();
+    }
+    
+    @Test
+    public void homeCategoryRefresh_staysWithinCallBudget() throws Exception {
+        assumeRecordings();
+        AppDbHelper dbHelper = new AppDbHelper(context);
+        HomeRepository homeRepository = new HomeRepository(dbHelper);
+        homeRepository.seedCategories();
+        List<Category> categories = new HomeDao(dbHelper.getReadableDatabase()).getAllCategories();
+        Category category = categories.get(0);
+        
+        long startTime = System.currentTimeMillis();
+        boolean refreshed = homeRepository.refreshCategoryIfOlderThan(category.getCategoryId(), 0);
+        long elapsedMs = System.currentTimeMillis() - startTime;
+        
+        int searchCalls = server.getCallCount(ApiEndpoints.SEARCH);
+        int detailCalls = server.getCallCount(ApiEndpoints.DETAILS);
+        android.util.Log.i("PipelineTimingTest", "Home refresh: " + elapsedMs + " ms, " + searchCalls + " search, " + detailCalls + " detail calls");
+        
+        assertTrue(refreshed);
+        assertTrue("search calls: " + searchCalls, searchCalls <= 2);
+        assertTrue("detail calls: " + detailCalls, detailCalls <= 20);
+        if (!recordMode) {
+            // 2 search round trips + 20 details at 4-way concurrency, plus rate limiter headroom
+            assertTrue("wall time: " + elapsedMs + " ms", elapsedMs < 2 * LATENCY_MS + 5 * LATENCY_MS + 3000);
+        }
+    }
+    
+    @Test
+    public void search_staysWithinCallBudget() throws Exception {
+        assumeRecordings();
+        SearchRepository searchRepository = new SearchRepository(new AppDbHelper(context));
+        
+        long startTime = System.currentTimeMillis();
+        List<Book> results = awaitSearch(searchRepository, "dune");
+        long elapsedMs = System.currentTimeMillis() - startTime;
+        
+        int searchCalls = server.getCallCount(ApiEndpoints.SEARCH);
+        int detailCalls = server.getCallCount(ApiEndpoints.DETAILS);
+        android.util.Log.i("PipelineTimingTest", "Search: " + elapsedMs + " ms, " + searchCalls + " search, " + detailCalls + " detail calls");
+        
+        assertFalse(results.isEmpty());
+        assertTrue("search calls: " + searchCalls, searchCalls <= 2);
+        assertTrue("detail calls: " + detailCalls, detailCalls <= 30);
+        if (!recordMode) {
+            assertTrue("wall time: " + elapsedMs + " ms", elapsedMs < 2 * LATENCY_MS + 30 * LATENCY_MS + 3000);
+        }
+    }
+    
+    @Test
+    public void search_repeatedQueryIsServedFromCache() throws Exception {
+        assumeRecordings();
+        SearchRepository searchRepository = new SearchRepository(new AppDbHelper(context));
+        awaitSearch(searchRepository, "dune");
+        server.resetCallCounts();
+        
+        long startTime = System.currentTimeMillis();
+        List<Book> results = awaitSearch(searchRepository, "dune");
+        long elapsedMs = System.currentTimeMillis() - startTime;
+        
+        assertFalse(results.isEmpty());
+        assertEquals(0, server.getCallCount(ApiEndpoints.SEARCH));
+        assertEquals(0, server.getCallCount(ApiEndpoints.DETAILS));
+        assertTrue("wall time: " + elapsedMs + " ms", elapsedMs < 500);
+    }
+    
+    @Test
+    public void search_apiDown_failsFastOnceCircuitOpens() throws Exception {
+        assumeTrue(!recordMode);
+        server.setErrorRate(1.0, 0); // drop every connection
+        SearchRepository searchRepository = new SearchRepository(new AppDbHelper(context));
+        
+        // Trip the breaker, then time a search against the open circuit
+        for (int i = 0; i < 3; i++) {
+            awaitSearchError(searchRepository, "dune " + i);
+        }
+        server.resetCallCounts();
+        
+        long startTime = System.currentTimeMillis();
+        String error = awaitSearchError(searchRepository, "dune");
+        long elapsedMs = System.currentTimeMillis() - startTime;
+        
+        assertNotNull(error);
+        assertEquals(0, server.getCallCount(ApiEndpoints.SEARCH));
+        assertTrue("wall time: " + elapsedMs + " ms", elapsedMs < 500);
+    }
+    
+    private void assumeRecordings() {
+        assumeTrue("No recordings; run with booksApiRecord=true first", recordMode || server.hasRecordings());
+    }
+    
+    private List<Book> awaitSearch(SearchRepository repository, String query) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<List<Book>> results = new AtomicReference<>();
+        repository.searchBooksAsync(query, new SearchRepository.SearchCallback() {
+            @Override
+            public void onSearchResults(List<Book> books) {
+                results.set(books);
+                latch.countDown();
+            }
+            
+            @Override
+            public void onError(String error) {
+                latch.countDown();
+            }
+        });
+        assertTrue("search timed out", latch.await(60, TimeUnit.SECONDS));
+        assertNotNull("search failed", results.get());
+        return results.get();
+    }
+    
+    private String awaitSearchError(SearchRepository repository, String query) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<String> error = new AtomicReference<>();
+        repository.searchBooksAsync(query, new SearchRepository.SearchCallback() {
+            @Override
+            public void onSearchResults(List<Book> books) {
+                latch.countDown();
+            }
+            
+            @Override
+            public void onError(String message) {
+                error.set(message);
+                latch.countDown();
+            }
+        });
+        assertTrue("search timed out", latch.await(120, TimeUnit.SECONDS));
+        return error.get();
+    }
+}
+
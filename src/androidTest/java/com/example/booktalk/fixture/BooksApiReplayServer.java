@@ -0,0 +1,253 @@
+package com.example.booktalk.fixture;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import com.example.booktalk.data.remote.ApiEndpoints;
+import com.example.booktalk.data.remote.BooksApiService;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the Google Books API backed by recorded responses
+ * Replay mode serves recordings from a MockWebServer with configurable latency and
+ * error injection. Record mode forwards misses to the live API once and keeps the
+ * responses; save() writes them out to be copied into androidTest assets
+ *
+ * Record:  ./gradlew connectedAndroidTest -Pandroid.testInstrumentationRunnerArguments.booksApiRecord=true
+ *          adb pull /sdcard/Android/data/com.example.booktalk/files/books_api_recordings.json src/androidTest/assets/
+ */
+public class BooksApiReplayServer {
+    public static final String RECORDINGS_FILE = "books_api_recordings.json";
+    
+    // Parameters that do not change what the API returns for our purposes
+    private static final String[] IGNORED_PARAMS = {"key", "fields", "projection"};
+    
+    private final MockWebServer server = new MockWebServer();
+    private final Map<String, Recording> recordings = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> callCounts = new ConcurrentHashMap<>();
+    private final boolean recordMode;
+    private OkHttpClient liveClient;
+    
+    private volatile long latencyMs;
+    private volatile double errorRate;
+    private volatile int errorStatus = 503;
+    private final Random random = new Random(42); // fixed seed: same errors on every run
+    
+    /**
+     * One recorded response
+     */
+    static class Recording {
+        int code;
+        String body;
+        
+        Recording(int code, String body) {
+            this.code = code;
+            this.body = body;
+        }
+    }
+    
+    public BooksApiReplayServer(boolean recordMode) {
+        this.recordMode = recordMode;
+        if (recordMode) {
+            liveClient = new OkHttpClient();
+        }
+    }
+    
+    /**
+     * Load recordings from androidTest assets (and from a previous record run, if any)
+     */
+    public void loadRecordings(Context testContext, Context targetContext) throws IOException {
+        try (InputStream in = testContext.getAssets().open(RECORDINGS_FILE)) {
+            readRecordings(new InputStreamReader(in, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            // No checked-in recordings yet
+        }
+        
+        File recorded = recordingsFile(targetContext);
+        if (recorded != null && recorded.exists()) {
+            try (Reader reader = new FileReader(recorded)) {
+                readRecordings(reader);
+            }
+        }
+    }
+    
+    public boolean hasRecordings() {
+        return !recordings.isEmpty();
+    }
+    
+    /**
+     * Write all recordings (record mode) next to the app's external files
+     */
+    public File save(Context targetContext) throws IOException {
+        File file = recordingsFile(targetContext);
+        try (Writer writer = new FileWriter(file)) {
+            new Gson().toJson(new TreeMap<>(recordings), writer);
+        }
+        return file;
+    }
+    
+    public void start() throws IOException {
+        server.setDispatcher(new ReplayDispatcher());
+        server.start();
+    }
+    
+    public void shutdown() throws IOException {
+        server.shutdown();
+    }
+    
+    /**
+     * Base URL to pass to RetrofitClient.overrideBaseUrl
+     */
+    public String getBaseUrl() {
+        return server.url(HttpUrl.get(BooksApiService.BASE_URL).encodedPath()).toString();
+    }
+    
+    /**
+     * Delay before each response's headers
+     */
+    public void setLatency(long latency, TimeUnit unit) {
+        this.latencyMs = unit.toMillis(latency);
+    }
+    
+    /**
+     * Fail this fraction of requests (0..1) with the given status, or 0 to drop the connection
+     */
+    public void setErrorRate(double errorRate, int errorStatus) {
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+    }
+    
+    /**
+     * Requests received for an endpoint (ApiEndpoints.SEARCH or ApiEndpoints.DETAILS)
+     */
+    public int getCallCount(String endpoint) {
+        AtomicInteger count = callCounts.get(endpoint);
+        return count != null ? count.get() : 0;
+    }
+    
+    public void resetCallCounts() {
+        callCounts.clear();
+    }
+    
+    /**
+     * Recording key: endpoint path plus sorted query parameters, minus the ignored ones
+     */
+    static String keyFor(HttpUrl url) {
+        StringBuilder key = new StringBuilder(url.encodedPath());
+        TreeSet<String> names = new TreeSet<>(url.queryParameterNames());
+        for (String ignored : IGNORED_PARAMS) {
+            names.remove(ignored);
+        }
+        char separator = '?';
+        for (String name : names) {
+            for (String value : url.queryParameterValues(name)) {
+                key.append(separator).append(name).append('=').append(value);
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+    
+    private void readRecordings(Reader reader) {
+        Type type = new TypeToken<Map<String, Recording>>() {}.getType();
+        Map<String, Recording> loaded = new Gson().fromJson(reader, type);
+        if (loaded != null) {
+            recordings.putAll(loaded);
+        }
+    }
+    
+    private static File recordingsFile(Context targetContext) {
+        File dir = targetContext.getExternalFilesDir(null);
+        return dir != null ? new File(dir, RECORDINGS_FILE) : null;
+    }
+    
+    private class ReplayDispatcher extends Dispatcher {
+        @NonNull
+        @Override
+        public MockResponse dispatch(@NonNull RecordedRequest request) {
+            HttpUrl url = request.getRequestUrl();
+            if (url == null) {
+                return new MockResponse().setResponseCode(400);
+            }
+            
+            String endpoint = ApiEndpoints.endpointOf(url);
+            AtomicInteger count = callCounts.get(endpoint);
+            if (count == null) {
+                count = callCounts.computeIfAbsent(endpoint, key -> new AtomicInteger());
+            }
+            count.incrementAndGet();
+            
+            MockResponse response;
+            if (errorRate > 0 && nextDouble() < errorRate) {
+                response = errorStatus > 0
+                        ? new MockResponse().setResponseCode(errorStatus)
+                        : new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START);
+            } else {
+                Recording recording = recordings.get(keyFor(url));
+                if (recording == null && recordMode) {
+                    recording = fetchLive(url);
+                }
+                response = recording != null
+                        ? new MockResponse()
+                                .setResponseCode(recording.code)
+                                .setHeader("Content-Type", "application/json; charset=UTF-8")
+                                .setBody(recording.body)
+                        : new MockResponse().setResponseCode(404).setBody("{\"error\":\"no recording for " + keyFor(url) + "\"}");
+            }
+            
+            if (latencyMs > 0) {
+                response.setHeadersDelay(latencyMs, TimeUnit.MILLISECONDS);
+            }
+            return response;
+        }
+        
+        private Recording fetchLive(HttpUrl url) {
+            HttpUrl live = HttpUrl.get(BooksApiService.BASE_URL).newBuilder()
+                    .encodedPath(url.encodedPath())
+                    .encodedQuery(url.encodedQuery())
+                    .build();
+            try (Response liveResponse = liveClient.newCall(new Request.Builder().url(live).build()).execute()) {
+                ResponseBody body = liveResponse.body();
+                Recording recording = new Recording(liveResponse.code(), body != null ? body.string() : "");
+                if (liveResponse.isSuccessful()) {
+                    recordings.put(keyFor(url), recording);
+                }
+                return recording;
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+    
+    private synchronized double nextDouble() {
+        return random.nextDouble();
+    }
+}
+
@@ -0,0 +1,494 @@
+package com.example.booktalk.fixture;
+
+import androidx.annotation.NonNull;
+import com.example.booktalk.data.model.Book;
+import com.example.booktalk.data.remote.ApiEndpoints;
+import com.example.booktalk.data.remote.BooksApiService;
+import com.google.gson.stream.JsonWriter;
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the Google Books API serving a synthetic catalog
+ * Every volume is derived from its index with a fixed hash, so a catalog of millions
+ * costs no memory and the same query returns the same page on every run.
+ * The catalog mimics what the pipelines have to cope with: missing descriptions
+ * (some only filled in by the detail call, some never), CJK titles, runs of
+ * editions of the same work, heavy-tailed ratings and covers that are missing.
+ * Latency, tail latency and error injection are configurable like BooksApiReplayServer
+ */
+public class SyntheticBooksApiServer {
+    public static final long DEFAULT_CATALOG_SIZE = 5_000_000L;
+    
+    private static final String ID_PREFIX = "SYN";
+    
+    // Distributions (fractions of volumes)
+    private static final double EDITION_OF_PREVIOUS = 0.2;    // runs of editions of one work
+    private static final double CJK_TITLE = 0.08;
+    private static final double SECOND_AUTHOR = 0.1;
+    private static final double MISSING_COVER = 0.05;
+    private static final double DESCRIPTION_IN_LIST = 0.65;
+    private static final double DESCRIPTION_IN_DETAIL = 0.6;  // of those missing from the list
+    private static final double HAS_RATINGS = 0.45;
+    
+    private static final String[] TITLE_WORDS = {
+            "Night", "Garden", "River", "Empire", "Silent", "Winter", "House", "Stars", "Secret", "Glass",
+            "Shadow", "Ocean", "Last", "Letters", "Iron", "Summer", "Forgotten", "City", "Crown", "Wild",
+            "Memory", "Salt", "Fire", "Paper", "Storm", "Golden", "Road", "Island", "Hidden", "Light"};
+    private static final String[] CJK_TITLE_WORDS = {
+            "夜", "海辺", "図書館", "春", "雪国", "物語", "星", "風", "三体", "红楼", "梦", "森", "猫", "旅", "月"};
+    private static final String[] FIRST_NAMES = {
+            "Anna", "James", "Maria", "David", "Elena", "Thomas", "Sofia", "Daniel", "Clara", "Samuel",
+            "Ingrid", "Marcus", "Leila", "Victor", "Naomi", "Oliver", "Priya", "Hugo", "Rosa", "Felix"};
+    private static final String[] LAST_NAMES = {
+            "Morgan", "Okafor", "Lindqvist", "Hart", "Moreau", "Castillo", "Novak", "Brennan", "Weiss", "Adler",
+            "Kowalski", "Sato", "Fischer", "Romano", "Hale", "Duarte", "Ivanova", "Mercer", "Quinn", "Walsh"};
+    private static final String[] CJK_AUTHORS = {
+            "村上春樹", "川端康成", "刘慈欣", "曹雪芹", "吉本ばなな", "东野圭吾", "莫言", "太宰治"};
+    private static final String[] EDITION_SUFFIXES = {
+            " (Paperback)", ": Deluxe Edition", " - Anniversary Edition", " (Illustrated)"};
+    private static final String[] DESCRIPTION_SENTENCES = {
+            "A sweeping story of family, loss and the secrets that bind a small town together.",
+            "When an unexpected letter arrives, everything she believed about her past begins to unravel.",
+            "Told across three generations, this novel follows a house and the people who lived in it.",
+            "A gripping account of ambition and betrayal set against the backdrop of a changing empire.",
+            "Part mystery, part love story, it asks what we owe to the people we leave behind.",
+            "With sharp wit and quiet tenderness, the author turns ordinary lives into something luminous.",
+            "An unforgettable journey across oceans, borders and the limits of memory."};
+    
+    private final MockWebServer server = new MockWebServer();
+    private final Map<String, AtomicInteger> callCounts = new ConcurrentHashMap<>();
+    private final long catalogSize;
+    private final long seed;
+    
+    private volatile long latencyMs;
+    private volatile long jitterMs;
+    private volatile double tailFraction;
+    private volatile long tailLatencyMs;
+    private volatile double errorRate;
+    private volatile int errorStatus = 503;
+    private final Random random;
+    
+    public SyntheticBooksApiServer() {
+        this(DEFAULT_CATALOG_SIZE, 42);
+    }
+    
+    /**
+     * @param catalogSize Number of volumes in the catalog
+     * @param seed Same seed, same catalog (and same injected latency and errors)
+     */
+    public SyntheticBooksApiServer(long catalogSize, long seed) {
+        this.catalogSize = catalogSize;
+        this.seed = seed;
+        this.random = new Random(seed);
+    }
+    
+    public void start() throws IOException {
+        server.setDispatcher(new SyntheticDispatcher());
+        server.start();
+    }
+    
+    public void shutdown() throws IOException {
+        server.shutdown();
+    }
+    
+    /**
+     * Base URL to pass to RetrofitClient.overrideBaseUrl
+     */
+    public String getBaseUrl() {
+        return server.url(HttpUrl.get(BooksApiService.BASE_URL).encodedPath()).toString();
+    }
+    
+    public long getCatalogSize() {
+        return catalogSize;
+    }
+    
+    /**
+     * Delay before each response's headers: latency plus up to jitter, uniformly
+     */
+    public void setLatency(long latency, long jitter, TimeUnit unit) {
+        this.latencyMs = unit.toMillis(latency);
+        this.jitterMs = unit.toMillis(jitter);
+    }
+    
+    /**
+     * Make this fraction of responses (0..1) take the given latency instead
+     */
+    public void setTailLatency(double fraction, long latency, TimeUnit unit) {
+        this.tailFraction = fraction;
+        this.tailLatencyMs = unit.toMillis(latency);
+    }
+    
+    /**
+     * Fail this fraction of requests (0..1) with the given status, or 0 to drop the connection
+     * 429 responses carry Retry-After: 1
+     */
+    public void setErrorRate(double errorRate, int errorStatus) {
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+    }
+    
+    /**
+     * Requests received for an endpoint (ApiEndpoints.SEARCH or ApiEndpoints.DETAILS)
+     */
+    public int getCallCount(String endpoint) {
+        AtomicInteger count = callCounts.get(endpoint);
+        return count != null ? count.get() : 0;
+    }
+    
+    public void resetCallCounts() {
+        callCounts.clear();
+    }
+    
+    /**
+     * Volume ID for a catalog index
+     */
+    public static String volumeId(long index) {
+        return String.format(Locale.ROOT, "%s%09d", ID_PREFIX, index);
+    }
+    
+    /**
+     * Book as a list response would map it (for seeding a database at scale)
+     * Null when the volume has no cover, like the streaming decoder would drop it
+     */
+    public Book bookAt(long index) {
+        if (chance(index, 5, MISSING_COVER)) {
+            return null;
+        }
+        Book book = new Book(volumeId(index), titleOf(index), String.join(", ", authorsOf(index)),
+                coverUrlOf(index), listDescriptionOf(index));
+        book.setPublishedDate(publishedDateOf(index));
+        if (chance(index, 7, HAS_RATINGS)) {
+            book.setRatingsCount(ratingsCountOf(index));
+            book.setAverageRating(averageRatingOf(index));
+        }
+        return book;
+    }
+    
+    /**
+     * totalItems the simulator reports for a q parameter (isbn: 1, strict 0-199, raw text 500-4999)
+     */
+    public int totalItemsFor(String q) {
+        return searchPlan(q).totalItems;
+    }
+    
+    // ---- Catalog ----
+    
+    private String titleOf(long index) {
+        long work = workOf(index);
+        String title;
+        if (chance(work, 1, CJK_TITLE)) {
+            title = pick(CJK_TITLE_WORDS, work, 2) + pick(CJK_TITLE_WORDS, work, 3);
+        } else {
+            title = "The " + pick(TITLE_WORDS, work, 2) + " of " + pick(TITLE_WORDS, work, 3);
+            if (chance(work, 4, 0.5)) {
+                title = pick(TITLE_WORDS, work, 4) + " " + pick(TITLE_WORDS, work, 5);
+            }
+        }
+        
+        // Later editions of a work share its title and add a suffix
+        long edition = index - work;
+        if (edition > 0) {
+            title += EDITION_SUFFIXES[(int) ((edition - 1) % EDITION_SUFFIXES.length)];
+        }
+        return title;
+    }
+    
+    private String[] authorsOf(long index) {
+        long work = workOf(index);
+        if (chance(work, 1, CJK_TITLE)) {
+            return new String[]{pick(CJK_AUTHORS, work, 6)};
+        }
+        // A few thousand distinct authors, so searching by author finds many books
+        long author = hash(work, 6) % 5000;
+        String first = FIRST_NAMES[(int) (author % FIRST_NAMES.length)];
+        String last = LAST_NAMES[(int) ((author / FIRST_NAMES.length) % LAST_NAMES.length)];
+        String name = author >= 400 ? first + " " + (char) ('A' + author % 26) + ". " + last : first + " " + last;
+        if (chance(work, 8, SECOND_AUTHOR)) {
+            return new String[]{name, pick(FIRST_NAMES, work, 9) + " " + pick(LAST_NAMES, work, 10)};
+        }
+        return new String[]{name};
+    }
+    
+    private String listDescriptionOf(long index) {
+        return chance(index, 11, DESCRIPTION_IN_LIST) ? descriptionOf(index) : null;
+    }
+    
+    private String detailDescriptionOf(long index) {
+        String description = listDescriptionOf(index);
+        if (description == null && chance(index, 12, DESCRIPTION_IN_DETAIL)) {
+            description = descriptionOf(index);
+        }
+        return description;
+    }
+    
+    private String descriptionOf(long index) {
+        long work = workOf(index);
+        StringBuilder description = new StringBuilder();
+        int sentences = 2 + (int) (hash(work, 13) % 5);
+        for (int i = 0; i < sentences; i++) {
+            if (i > 0) {
+                description.append(' ');
+            }
+            description.append(pick(DESCRIPTION_SENTENCES, work, 14 + i));
+        }
+        return description.toString();
+    }
+    
+    private String coverUrlOf(long index) {
+        return "http://books.google.com/books/content?id=" + volumeId(index) + "&printsec=frontcover&img=1&zoom=1";
+    }
+    
+    private String publishedDateOf(long index) {
+        int year = 1900 + (int) (hash(index, 15) % 126);
+        return chance(index, 16, 0.5) ? String.valueOf(year) : String.format(Locale.ROOT, "%d-%02d-%02d",
+                year, 1 + hash(index, 17) % 12, 1 + hash(index, 18) % 28);
+    }
+    
+    /**
+     * Heavy-tailed: most rated books have a handful of ratings, a few have tens of thousands
+     */
+    private int ratingsCountOf(long index) {
+        double u = (hash(index, 19) % 1_000_000 + 1) / 1_000_001.0;
+        return (int) Math.min(250_000, Math.floor(2 / Math.pow(u, 1.1)));
+    }
+    
+    private double averageRatingOf(long index) {
+        // Half-star steps, clustered around 4
+        int halfStars = 6 + (int) (hash(index, 20) % 3) + (int) (hash(index, 21) % 3);
+        return Math.min(10, halfStars) / 2.0;
+    }
+    
+    /**
+     * First volume of the run of editions this volume belongs to
+     */
+    private long workOf(long index) {
+        long work = index;
+        while (work > 0 && chance(work, 0, EDITION_OF_PREVIOUS)) {
+            work--;
+        }
+        return work;
+    }
+    
+    // ---- Search ----
+    
+    /**
+     * Where a query's results start in the catalog and how many there are
+     */
+    private static class SearchPlan {
+        long firstIndex;
+        int totalItems;
+    }
+    
+    private SearchPlan searchPlan(String q) {
+        String normalized = q != null ? q.trim().toLowerCase(Locale.ROOT) : "";
+        long queryHash = hashString(normalized);
+        
+        SearchPlan plan = new SearchPlan();
+        plan.firstIndex = queryHash % catalogSize;
+        if (normalized.startsWith("isbn:")) {
+            plan.totalItems = 1;
+        } else if (normalized.startsWith("intitle:") || normalized.startsWith("inauthor:")) {
+            // Strict queries: sometimes too few results, so the fallback path runs too
+            plan.totalItems = (int) ((queryHash >>> 8) % 200);
+        } else {
+            plan.totalItems = 500 + (int) ((queryHash >>> 8) % 4500);
+        }
+        return plan;
+    }
+    
+    private String searchJson(HttpUrl url) throws IOException {
+        SearchPlan plan = searchPlan(url.queryParameter("q"));
+        int startIndex = parseInt(url.queryParameter("startIndex"), 0);
+        int maxResults = Math.min(40, parseInt(url.queryParameter("maxResults"), 10));
+        int end = Math.min(plan.totalItems, startIndex + maxResults);
+        
+        StringWriter out = new StringWriter();
+        JsonWriter json = new JsonWriter(out);
+        json.beginObject();
+        json.name("kind").value("books#volumes");
+        json.name("totalItems").value(plan.totalItems);
+        if (startIndex < end) {
+            json.name("items").beginArray();
+            for (int i = startIndex; i < end; i++) {
+                long index = (plan.firstIndex + i) % catalogSize;
+                writeVolume(json, index, listDescriptionOf(index));
+            }
+            json.endArray();
+        }
+        json.endObject();
+        json.close();
+        return out.toString();
+    }
+    
+    private String detailJson(long index) throws IOException {
+        StringWriter out = new StringWriter();
+        JsonWriter json = new JsonWriter(out);
+        writeVolume(json, index, detailDescriptionOf(index));
+        json.close();
+        return out.toString();
+    }
+    
+    private void writeVolume(JsonWriter json, long index, String description) throws IOException {
+        json.beginObject();
+        json.name("kind").value("books#volume");
+        json.name("id").value(volumeId(index));
+        json.name("volumeInfo").beginObject();
+        json.name("title").value(titleOf(index));
+        json.name("authors").beginArray();
+        for (String author : authorsOf(index)) {
+            json.value(author);
+        }
+        json.endArray();
+        json.name("publishedDate").value(publishedDateOf(index));
+        if (description != null) {
+            json.name("description").value(description);
+        }
+        if (chance(index, 7, HAS_RATINGS)) {
+            json.name("averageRating").value(averageRatingOf(index));
+            json.name("ratingsCount").value(ratingsCountOf(index));
+        }
+        if (!chance(index, 5, MISSING_COVER)) {
+            json.name("imageLinks").beginObject();
+            json.name("smallThumbnail").value(coverUrlOf(index).replace("zoom=1", "zoom=5"));
+            json.name("thumbnail").value(coverUrlOf(index));
+            json.endObject();
+        }
+        json.endObject();
+        json.endObject();
+    }
+    
+    private long indexOf(String volumeId) {
+        if (volumeId == null || !volumeId.startsWith(ID_PREFIX)) {
+            return -1;
+        }
+        try {
+            long index = Long.parseLong(volumeId.substring(ID_PREFIX.length()));
+            return index < catalogSize ? index : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+    
+    private class SyntheticDispatcher extends Dispatcher {
+        @NonNull
+        @Override
+        public MockResponse dispatch(@NonNull RecordedRequest request) {
+            HttpUrl url = request.getRequestUrl();
+            if (url == null) {
+                return new MockResponse().setResponseCode(400);
+            }
+            
+            String endpoint = ApiEndpoints.endpointOf(url);
+            AtomicInteger count = callCounts.get(endpoint);
+            if (count == null) {
+                count = callCounts.computeIfAbsent(endpoint, key -> new AtomicInteger());
+            }
+            count.incrementAndGet();
+            
+            MockResponse response;
+            try {
+                response = respond(url, endpoint);
+            } catch (IOException e) {
+                response = new MockResponse().setResponseCode(500);
+            }
+            
+            long delayMs = nextDelayMs();
+            if (delayMs > 0) {
+                response.setHeadersDelay(delayMs, TimeUnit.MILLISECONDS);
+            }
+            return response;
+        }
+        
+        private MockResponse respond(HttpUrl url, String endpoint) throws IOException {
+            if (errorRate > 0 && nextDouble() < errorRate) {
+                if (errorStatus <= 0) {
+                    return new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START);
+                }
+                MockResponse error = new MockResponse().setResponseCode(errorStatus);
+                return errorStatus == 429 ? error.setHeader("Retry-After", "1") : error;
+            }
+            
+            if (ApiEndpoints.SEARCH.equals(endpoint)) {
+                return jsonResponse(searchJson(url));
+            }
+            if (ApiEndpoints.DETAILS.equals(endpoint)) {
+                long index = indexOf(url.pathSegments().get(url.pathSize() - 1));
+                return index >= 0
+                        ? jsonResponse(detailJson(index))
+                        : new MockResponse().setResponseCode(404).setBody("{\"error\":{\"code\":404}}");
+            }
+            return new MockResponse().setResponseCode(404);
+        }
+        
+        private MockResponse jsonResponse(String body) {
+            return new MockResponse()
+                    .setResponseCode(200)
+                    .setHeader("Content-Type", "application/json; charset=UTF-8")
+                    .setBody(body);
+        }
+    }
+    
+    private synchronized long nextDelayMs() {
+        if (tailFraction > 0 && random.nextDouble() < tailFraction) {
+            return tailLatencyMs;
+        }
+        return latencyMs + (jitterMs > 0 ? (long) (random.nextDouble() * jitterMs) : 0);
+    }
+    
+    private synchronized double nextDouble() {
+        return random.nextDouble();
+    }
+    
+    // ---- Deterministic hashing ----
+    
+    private boolean chance(long value, int salt, double probability) {
+        return (hash(value, salt) % 1_000_000) < probability * 1_000_000;
+    }
+    
+    private String pick(String[] values, long value, int salt) {
+        return values[(int) (hash(value, salt) % values.length)];
+    }
+    
+    /**
+     * splitmix64 of (seed, value, salt), non-negative
+     */
+    private long hash(long value, int salt) {
+        long z = seed * 0x9E3779B97F4A7C15L + value * 0xBF58476D1CE4E5B9L + salt * 0x94D049BB133111EBL;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (z ^ (z >>> 31)) & Long.MAX_VALUE;
+    }
+    
+    private long hashString(String value) {
+        long h = 1125899906842597L;
+        for (int i = 0; i < value.length(); i++) {
+            h = 31 * h + value.charAt(i);
+        }
+        return hash(h, 99);
+    }
+    
+    private static int parseInt(String value, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
+
@@ -20,7 +20,7 @@ public class AuthController {
     }
     
     public AuthController(Context context) {
-        AppDbHelper dbHelper = new AppDbHelper(context);
+        AppDbHelper dbHelper = AppDbHelper.getInstance(context);
         this.authRepository = new AuthRepository(dbHelper);
         this.prefs = new Prefs(context);
     }
@@ -39,7 +39,7 @@ public class BookDetailController {
     
     public BookDetailController(Context context, String bookId) {
         this.bookId = bookId;
-        AppDbHelper dbHelper = new AppDbHelper(context);
+        AppDbHelper dbHelper = AppDbHelper.getInstance(context);
         this.booksRepository = new BooksRepository(dbHelper);
         this.myBooksRepository = new MyBooksRepository(dbHelper);
         this.reviewRepository = new ReviewRepository(dbHelper);
@@ -11,6 +11,7 @@ import java.util.List;
  */
 public class HomeController {
     private HomeRepository homeRepository;
+    private HomeRepository.CategoriesUpdateCallback updateCallback;
     
     public interface Callback {
         void onCategoriesLoaded(List<Category> categories);
@@ -18,7 +19,7 @@ public class HomeController {
     }
     
     public HomeController(Context context) {
-        AppDbHelper dbHelper = new AppDbHelper(context);
+        AppDbHelper dbHelper = AppDbHelper.getInstance(context);
         this.homeRepository = new HomeRepository(dbHelper);
     }
     
@@ -32,9 +33,26 @@ public class HomeController {
         }
         
         // Then fetch from API async and update
-        homeRepository.getCategoriesAsync(categories -> {
+        updateCallback = categories -> {
             callback.onCategoriesLoaded(categories);
-        });
+        };
+        homeRepository.getCategoriesAsync(updateCallback);
+    }
+    
+    /**
+     * Categories currently on screen (refreshed before the others)
+     */
+    public void setVisibleCategories(List<Integer> categoryIds) {
+        homeRepository.setVisibleCategories(categoryIds);
+    }
+    
+    /**
+     * Stop updates to the screen (call when its view is destroyed)
+     */
+    public void detach() {
+        if (updateCallback != null) {
+            homeRepository.detach(updateCallback);
+            updateCallback = null;
+        }
     }
 }
-
@@ -20,7 +20,7 @@ public class MyBooksController {
     }
     
     public MyBooksController(Context context) {
-        AppDbHelper dbHelper = new AppDbHelper(context);
+        AppDbHelper dbHelper = AppDbHelper.getInstance(context);
         this.myBooksRepository = new MyBooksRepository(dbHelper);
         this.prefs = new Prefs(context);
     }
@@ -3,6 +3,7 @@ package com.example.booktalk.controller;
 import android.content.Context;
 import com.example.booktalk.data.db.AppDbHelper;
 import com.example.booktalk.data.model.Book;
+import com.example.booktalk.data.remote.CancellationToken;
 import com.example.booktalk.data.repository.SearchRepository;
 import java.util.List;
 
@@ -11,19 +12,32 @@ import java.util.List;
  */
 public class SearchController {
     private SearchRepository searchRepository;
+    private CancellationToken currentSearch = CancellationToken.none();
     
     public interface Callback {
         void onSearchResults(List<Book> books);
         void onError(String error);
     }
     
+    public interface PageCallback {
+        void onPageLoaded(List<Book> newBooks, boolean hasMore);
+        void onError(String error);
+    }
+    
     public SearchController(Context context) {
-        AppDbHelper dbHelper = new AppDbHelper(context);
+        AppDbHelper dbHelper = AppDbHelper.getInstance(context);
         this.searchRepository = new SearchRepository(dbHelper);
     }
     
+    /**
+     * Search for a query, cancelling the previous search and its page loads
+     * (only the latest query keeps using the network)
+     */
     public void search(String query, Callback callback) {
-        searchRepository.searchBooksAsync(query, new SearchRepository.SearchCallback() {
+        cancelSearch();
+        CancellationToken token = new CancellationToken();
+        currentSearch = token;
+        searchRepository.searchBooksAsync(query, token, new SearchRepository.SearchCallback() {
             @Override
             public void onSearchResults(List<Book> books) {
                 callback.onSearchResults(books);
@@ -35,5 +49,30 @@ public class SearchController {
             }
         });
     }
+    
+    /**
+     * Load the next page of results for a query already searched
+     */
+    public void loadMore(String query, PageCallback callback) {
+        searchRepository.loadNextPageAsync(query, currentSearch, new SearchRepository.PageCallback() {
+            @Override
+            public void onPageLoaded(List<Book> newBooks, boolean hasMore) {
+                callback.onPageLoaded(newBooks, hasMore);
+            }
+            
+            @Override
+            public void onError(String error) {
+                callback.onError(error);
+            }
+        });
+    }
+    
+    /**
+     * Abort the current search and its page loads (query cleared, screen closed)
+     */
+    public void cancelSearch() {
+        currentSearch.cancel();
+        currentSearch = CancellationToken.none();
+    }
 }
 
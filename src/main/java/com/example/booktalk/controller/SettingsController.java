@@ -28,7 +28,7 @@ public class SettingsController {
     }
     
     public SettingsController(Context context) {
-        AppDbHelper dbHelper = new AppDbHelper(context);
+        AppDbHelper dbHelper = AppDbHelper.getInstance(context);
         this.authRepository = new AuthRepository(dbHelper);
         this.prefs = new Prefs(context);
     }
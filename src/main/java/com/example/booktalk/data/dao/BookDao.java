@@ -100,6 +100,61 @@ public class BookDao {
         db.update(DbContract.Books.TABLE_NAME, values, whereClause, whereArgs);
     }
     
+    /**
+     * Find a stored author whose name matches exactly (case, dots and spacing ignored)
+     * Books store co-authors joined with ", "; each name is checked on its own
+     * @return The stored author name, or null if no book has that author
+     */
+    public String findAuthorName(String name) {
+        String wanted = normalizeAuthorName(name);
+        if (wanted.isEmpty()) {
+            return null;
+        }
+        
+        // Narrow with LIKE on the last word, then compare whole names in Java
+        String[] words = name.trim().split("\\s+");
+        String lastWord = words[words.length - 1].replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        String selection = DbContract.Books.COLUMN_AUTHOR + " LIKE ? ESCAPE '\\'";
+        String[] selectionArgs = {"%" + lastWord + "%"};
+        
+        Cursor cursor = db.query(
+                true,
+                DbContract.Books.TABLE_NAME,
+                new String[]{DbContract.Books.COLUMN_AUTHOR},
+                selection,
+                selectionArgs,
+                null,
+                null,
+                null,
+                "50"
+        );
+        
+        String match = null;
+        if (cursor != null) {
+            while (match == null && cursor.moveToNext()) {
+                String authors = cursor.getString(0);
+                if (authors == null) {
+                    continue;
+                }
+                for (String author : authors.split(",")) {
+                    if (normalizeAuthorName(author).equals(wanted)) {
+                        match = author.trim();
+                        break;
+                    }
+                }
+            }
+            cursor.close();
+        }
+        return match;
+    }
+    
+    private static String normalizeAuthorName(String name) {
+        if (name == null) {
+            return "";
+        }
+        return name.toLowerCase(java.util.Locale.ROOT).replaceAll("[.\\s]+", "");
+    }
+    
     /**
      * Get books by IDs
      */
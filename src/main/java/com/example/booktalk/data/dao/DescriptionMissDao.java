@@ -0,0 +1,90 @@
+package com.example.booktalk.data.dao;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import com.example.booktalk.data.db.DbContract;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * DAO for the description negative cache
+ * Remembers volumes whose detail response had no description so enrichment
+ * doesn't spend detail calls on them again until the entry expires
+ */
+public class DescriptionMissDao {
+    private SQLiteDatabase db;
+    
+    public DescriptionMissDao(SQLiteDatabase db) {
+        this.db = db;
+    }
+    
+    /**
+     * Record that a volume's detail response had no description
+     */
+    public void recordMiss(String bookId, long checkedAt) {
+        ContentValues values = new ContentValues();
+        values.put(DbContract.DescriptionMisses.COLUMN_BOOK_ID, bookId);
+        values.put(DbContract.DescriptionMisses.COLUMN_CHECKED_AT, checkedAt);
+        
+        db.insertWithOnConflict(
+                DbContract.DescriptionMisses.TABLE_NAME,
+                null,
+                values,
+                SQLiteDatabase.CONFLICT_REPLACE
+        );
+    }
+    
+    /**
+     * Get which of the given volumes are known to lack a description (checked after checkedAfter)
+     */
+    public Set<String> getKnownMisses(List<String> bookIds, long checkedAfter) {
+        Set<String> misses = new HashSet<>();
+        if (bookIds == null || bookIds.isEmpty()) {
+            return misses;
+        }
+        
+        String placeholders = "";
+        for (int i = 0; i < bookIds.size(); i++) {
+            if (i > 0) placeholders += ",";
+            placeholders += "?";
+        }
+        
+        String selection = DbContract.DescriptionMisses.COLUMN_BOOK_ID + " IN (" + placeholders + ") AND " +
+                DbContract.DescriptionMisses.COLUMN_CHECKED_AT + " > ?";
+        String[] selectionArgs = new String[bookIds.size() + 1];
+        for (int i = 0; i < bookIds.size(); i++) {
+            selectionArgs[i] = bookIds.get(i);
+        }
+        selectionArgs[bookIds.size()] = String.valueOf(checkedAfter);
+        
+        Cursor cursor = db.query(
+                DbContract.DescriptionMisses.TABLE_NAME,
+                new String[]{DbContract.DescriptionMisses.COLUMN_BOOK_ID},
+                selection,
+                selectionArgs,
+                null,
+                null,
+                null
+        );
+        
+        if (cursor != null) {
+            while (cursor.moveToNext()) {
+                misses.add(cursor.getString(0));
+            }
+            cursor.close();
+        }
+        return misses;
+    }
+    
+    /**
+     * Delete entries checked before a timestamp (expired)
+     */
+    public int deleteCheckedBefore(long checkedBefore) {
+        String whereClause = DbContract.DescriptionMisses.COLUMN_CHECKED_AT + " < ?";
+        String[] whereArgs = {String.valueOf(checkedBefore)};
+        return db.delete(DbContract.DescriptionMisses.TABLE_NAME, whereClause, whereArgs);
+    }
+}
+
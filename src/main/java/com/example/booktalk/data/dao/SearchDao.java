@@ -14,6 +14,40 @@ import java.util.List;
 public class SearchDao {
     private SQLiteDatabase db;
     
+    /**
+     * Paging state of a cached search (which API query to continue and where)
+     */
+    public static class PagingState {
+        private final String apiQuery;
+        private final int nextStartIndex;
+        private final int totalItems;
+        
+        PagingState(String apiQuery, int nextStartIndex, int totalItems) {
+            this.apiQuery = apiQuery;
+            this.nextStartIndex = nextStartIndex;
+            this.totalItems = totalItems;
+        }
+        
+        public String getApiQuery() {
+            return apiQuery;
+        }
+        
+        /**
+         * startIndex of the next API page, or -1 when there are no more pages
+         */
+        public int getNextStartIndex() {
+            return nextStartIndex;
+        }
+        
+        public int getTotalItems() {
+            return totalItems;
+        }
+        
+        public boolean hasMore() {
+            return apiQuery != null && nextStartIndex >= 0;
+        }
+    }
+    
     public SearchDao(SQLiteDatabase db) {
         this.db = db;
     }
@@ -59,6 +93,111 @@ public class SearchDao {
         return fetchedAt;
     }
     
+    /**
+     * Get cached queries fetched before a timestamp, most recently fetched first
+     */
+    public List<String> getSearchQueriesFetchedBefore(long fetchedBefore, int limit) {
+        String selection = DbContract.SearchCache.COLUMN_FETCHED_AT + " < ?";
+        String[] selectionArgs = {String.valueOf(fetchedBefore)};
+        
+        Cursor cursor = db.query(
+                DbContract.SearchCache.TABLE_NAME,
+                new String[]{DbContract.SearchCache.COLUMN_QUERY},
+                selection,
+                selectionArgs,
+                null,
+                null,
+                DbContract.SearchCache.COLUMN_FETCHED_AT + " DESC",
+                String.valueOf(limit)
+        );
+        
+        List<String> queries = new ArrayList<>();
+        if (cursor != null) {
+            while (cursor.moveToNext()) {
+                queries.add(cursor.getString(0));
+            }
+            cursor.close();
+        }
+        return queries;
+    }
+    
+    /**
+     * Update paging state (call after upsertSearchCache, which resets it)
+     */
+    public void updateSearchCachePaging(String query, String apiQuery, int nextStartIndex, int totalItems) {
+        ContentValues values = new ContentValues();
+        values.put(DbContract.SearchCache.COLUMN_API_QUERY, apiQuery);
+        values.put(DbContract.SearchCache.COLUMN_NEXT_START_INDEX, nextStartIndex);
+        values.put(DbContract.SearchCache.COLUMN_TOTAL_ITEMS, totalItems);
+        
+        String whereClause = DbContract.SearchCache.COLUMN_QUERY + " = ?";
+        String[] whereArgs = {query};
+        db.update(DbContract.SearchCache.TABLE_NAME, values, whereClause, whereArgs);
+    }
+    
+    /**
+     * Get paging state, or null if the query is not cached
+     */
+    public PagingState getSearchCachePaging(String query) {
+        String selection = DbContract.SearchCache.COLUMN_QUERY + " = ?";
+        String[] selectionArgs = {query};
+        
+        Cursor cursor = db.query(
+                DbContract.SearchCache.TABLE_NAME,
+                new String[]{
+                        DbContract.SearchCache.COLUMN_API_QUERY,
+                        DbContract.SearchCache.COLUMN_NEXT_START_INDEX,
+                        DbContract.SearchCache.COLUMN_TOTAL_ITEMS
+                },
+                selection,
+                selectionArgs,
+                null,
+                null,
+                null
+        );
+        
+        PagingState state = null;
+        if (cursor != null) {
+            if (cursor.moveToFirst()) {
+                int apiQueryIndex = cursor.getColumnIndexOrThrow(DbContract.SearchCache.COLUMN_API_QUERY);
+                state = new PagingState(
+                        cursor.isNull(apiQueryIndex) ? null : cursor.getString(apiQueryIndex),
+                        cursor.getInt(cursor.getColumnIndexOrThrow(DbContract.SearchCache.COLUMN_NEXT_START_INDEX)),
+                        cursor.getInt(cursor.getColumnIndexOrThrow(DbContract.SearchCache.COLUMN_TOTAL_ITEMS))
+                );
+            }
+            cursor.close();
+        }
+        return state;
+    }
+    
+    /**
+     * Get book IDs already cached for a search, in sort order
+     */
+    public List<String> getSearchCacheBookIds(String query) {
+        String selection = DbContract.SearchCacheBooks.COLUMN_QUERY + " = ?";
+        String[] selectionArgs = {query};
+        
+        Cursor cursor = db.query(
+                DbContract.SearchCacheBooks.TABLE_NAME,
+                new String[]{DbContract.SearchCacheBooks.COLUMN_BOOK_ID},
+                selection,
+                selectionArgs,
+                null,
+                null,
+                DbContract.SearchCacheBooks.COLUMN_SORT_ORDER + " ASC"
+        );
+        
+        List<String> bookIds = new ArrayList<>();
+        if (cursor != null) {
+            while (cursor.moveToNext()) {
+                bookIds.add(cursor.getString(0));
+            }
+            cursor.close();
+        }
+        return bookIds;
+    }
+    
     /**
      * Insert search cache book
      */
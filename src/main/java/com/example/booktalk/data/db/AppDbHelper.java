@@ -9,11 +9,22 @@ import android.database.sqlite.SQLiteOpenHelper;
  * Manages database creation and version management
  */
 public class AppDbHelper extends SQLiteOpenHelper {
+    private static AppDbHelper instance;
     
     public AppDbHelper(Context context) {
         super(context, DbContract.DATABASE_NAME, null, DbContract.DATABASE_VERSION);
     }
     
+    /**
+     * Shared helper for the whole process (one connection pool instead of one per screen)
+     */
+    public static synchronized AppDbHelper getInstance(Context context) {
+        if (instance == null) {
+            instance = new AppDbHelper(context.getApplicationContext());
+        }
+        return instance;
+    }
+    
     @Override
     public void onCreate(SQLiteDatabase db) {
         // Create users table
@@ -96,7 +107,10 @@ public class AppDbHelper extends SQLiteOpenHelper {
         // Create search_cache table
         db.execSQL("CREATE TABLE " + DbContract.SearchCache.TABLE_NAME + " (" +
                 DbContract.SearchCache.COLUMN_QUERY + " TEXT PRIMARY KEY, " +
-                DbContract.SearchCache.COLUMN_FETCHED_AT + " INTEGER NOT NULL" +
+                DbContract.SearchCache.COLUMN_FETCHED_AT + " INTEGER NOT NULL, " +
+                DbContract.SearchCache.COLUMN_API_QUERY + " TEXT, " +
+                DbContract.SearchCache.COLUMN_NEXT_START_INDEX + " INTEGER NOT NULL DEFAULT -1, " +
+                DbContract.SearchCache.COLUMN_TOTAL_ITEMS + " INTEGER NOT NULL DEFAULT 0" +
                 ")");
         
         // Create search_cache_books table
@@ -112,6 +126,8 @@ public class AppDbHelper extends SQLiteOpenHelper {
                 DbContract.Books.TABLE_NAME + "(" + DbContract.Books.COLUMN_BOOK_ID + ")" +
                 ")");
         
+        createDescriptionMissesTable(db);
+        
         // Create indexes
         db.execSQL("CREATE INDEX idx_books_title ON " + DbContract.Books.TABLE_NAME +
                 "(" + DbContract.Books.COLUMN_TITLE + ")");
@@ -136,10 +152,34 @@ public class AppDbHelper extends SQLiteOpenHelper {
                 " ADD COLUMN " + DbContract.Books.COLUMN_AVERAGE_RATING + " REAL");
         }
         
+        if (oldVersion < 3) {
+            // Paging state for incremental search (existing entries are treated as single-page)
+            db.execSQL("ALTER TABLE " + DbContract.SearchCache.TABLE_NAME + 
+                " ADD COLUMN " + DbContract.SearchCache.COLUMN_API_QUERY + " TEXT");
+            db.execSQL("ALTER TABLE " + DbContract.SearchCache.TABLE_NAME + 
+                " ADD COLUMN " + DbContract.SearchCache.COLUMN_NEXT_START_INDEX + " INTEGER NOT NULL DEFAULT -1");
+            db.execSQL("ALTER TABLE " + DbContract.SearchCache.TABLE_NAME + 
+                " ADD COLUMN " + DbContract.SearchCache.COLUMN_TOTAL_ITEMS + " INTEGER NOT NULL DEFAULT 0");
+        }
+        
+        if (oldVersion < 4) {
+            createDescriptionMissesTable(db);
+        }
+        
         // For major version changes, drop and recreate (for development)
         if (oldVersion < newVersion && newVersion >= 2) {
             // Keep existing upgrade logic for major changes
         }
     }
+    
+    /**
+     * Negative cache for description lookups (version 4)
+     */
+    private void createDescriptionMissesTable(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + DbContract.DescriptionMisses.TABLE_NAME + " (" +
+                DbContract.DescriptionMisses.COLUMN_BOOK_ID + " TEXT PRIMARY KEY, " +
+                DbContract.DescriptionMisses.COLUMN_CHECKED_AT + " INTEGER NOT NULL" +
+                ")");
+    }
 }
 
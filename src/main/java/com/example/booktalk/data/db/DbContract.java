@@ -7,7 +7,7 @@ public class DbContract {
     
     // Database name and version
     public static final String DATABASE_NAME = "booktalk.db";
-    public static final int DATABASE_VERSION = 2;
+    public static final int DATABASE_VERSION = 4;
     
     // Table: users
     public static final class Users {
@@ -78,6 +78,9 @@ public class DbContract {
         public static final String TABLE_NAME = "search_cache";
         public static final String COLUMN_QUERY = "query";
         public static final String COLUMN_FETCHED_AT = "fetched_at";
+        public static final String COLUMN_API_QUERY = "api_query";
+        public static final String COLUMN_NEXT_START_INDEX = "next_start_index";
+        public static final String COLUMN_TOTAL_ITEMS = "total_items";
     }
     
     // Table: search_cache_books
@@ -87,5 +90,12 @@ public class DbContract {
         public static final String COLUMN_BOOK_ID = "book_id";
         public static final String COLUMN_SORT_ORDER = "sort_order";
     }
+    
+    // Table: description_misses (volumes whose detail response had no description)
+    public static final class DescriptionMisses {
+        public static final String TABLE_NAME = "description_misses";
+        public static final String COLUMN_BOOK_ID = "book_id";
+        public static final String COLUMN_CHECKED_AT = "checked_at";
+    }
 }
 
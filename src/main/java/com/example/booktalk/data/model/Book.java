@@ -28,6 +28,22 @@ public class Book {
         this.lastOpenedAt = 0;
     }
     
+    /**
+     * Copy of another book (e.g. one shared between callers that each fill in fields)
+     */
+    public Book(Book other) {
+        this.bookId = other.bookId;
+        this.title = other.title;
+        this.author = other.author;
+        this.coverUrl = other.coverUrl;
+        this.description = other.description;
+        this.fetchedAt = other.fetchedAt;
+        this.lastOpenedAt = other.lastOpenedAt;
+        this.publishedDate = other.publishedDate;
+        this.ratingsCount = other.ratingsCount;
+        this.averageRating = other.averageRating;
+    }
+    
     // Getters and Setters
     public String getBookId() {
         return bookId;
@@ -0,0 +1,34 @@
+package com.example.booktalk.data.remote;
+
+import okhttp3.HttpUrl;
+import java.util.List;
+
+/**
+ * Maps request URLs to stable endpoint names for per-endpoint metrics
+ * (e.g. "volumes" and "volumes/{volumeId}" instead of one key per volume)
+ */
+public class ApiEndpoints {
+    
+    public static final String SEARCH = "volumes";
+    public static final String DETAILS = "volumes/{volumeId}";
+    public static final String OTHER = "other";
+    
+    /**
+     * Get endpoint name for a request URL
+     */
+    public static String endpointOf(HttpUrl url) {
+        List<String> segments = url.pathSegments();
+        int volumesIndex = segments.indexOf("volumes");
+        if (volumesIndex < 0) {
+            return OTHER;
+        }
+        
+        // "volumes" alone is the search endpoint, "volumes/<id>" is the detail endpoint
+        int remaining = segments.size() - volumesIndex - 1;
+        if (remaining == 0 || (remaining == 1 && segments.get(volumesIndex + 1).isEmpty())) {
+            return SEARCH;
+        }
+        return DETAILS;
+    }
+}
+
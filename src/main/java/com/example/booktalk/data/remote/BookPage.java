@@ -0,0 +1,60 @@
+package com.example.booktalk.data.remote;
+
+import com.example.booktalk.data.model.Book;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of search results decoded straight into Book models
+ */
+public class BookPage {
+    private List<Book> books = new ArrayList<>();
+    private int totalItems;
+    private int itemCount;
+    
+    public List<Book> getBooks() {
+        return books;
+    }
+    
+    public void setBooks(List<Book> books) {
+        this.books = books;
+    }
+    
+    /**
+     * Total matches reported by the API (for pagination)
+     */
+    public int getTotalItems() {
+        return totalItems;
+    }
+    
+    public void setTotalItems(int totalItems) {
+        this.totalItems = totalItems;
+    }
+    
+    /**
+     * Number of items in this page before the basic title/author/cover checks
+     */
+    public int getItemCount() {
+        return itemCount;
+    }
+    
+    public void setItemCount(int itemCount) {
+        this.itemCount = itemCount;
+    }
+    
+    /**
+     * Deep copy: callers enrich and dedupe the books in place, so each one needs its own
+     */
+    public BookPage copy() {
+        BookPage copy = new BookPage();
+        List<Book> copiedBooks = new ArrayList<>(books.size());
+        for (Book book : books) {
+            copiedBooks.add(new Book(book));
+        }
+        copy.books = copiedBooks;
+        copy.totalItems = totalItems;
+        copy.itemCount = itemCount;
+        return copy;
+    }
+}
+
@@ -5,7 +5,11 @@ import com.example.booktalk.util.DateParser;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
 
 /**
  * Filters and ranks books by quality metrics
@@ -13,6 +17,17 @@ import java.util.List;
  */
 public class BookQualityFilter {
     
+    // Words that name an edition rather than a different work
+    private static final String EDITION_WORDS =
+            "\\b(edition|anniversary|classics?|deluxe|illustrated|unabridged|abridged|reprint|a novel)\\b";
+    private static final Pattern EDITION_SUFFIX = Pattern.compile(
+            "\\s*(?::|\\s[\\-\u2013\u2014]\\s)[^:]*" + EDITION_WORDS + ".*$");
+    // Only brackets naming an edition: "(Vol. 2)" or "[Book 3]" is a different work of a series
+    private static final Pattern EDITION_BRACKETED = Pattern.compile(
+            "\\s*[(\\[][^)\\]]*" + EDITION_WORDS + "[^)\\]]*[)\\]]");
+    private static final Pattern LEADING_ARTICLE = Pattern.compile("^(the|a|an)\\s+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    
     /**
      * Filter out low-quality books and rank by popularity metrics
      * @param books List of books to filter and rank
@@ -145,6 +160,80 @@ public class BookQualityFilter {
         return true;
     }
     
+    /**
+     * Collapse editions of the same work (same normalized title and first author) into one book
+     * The representative is the best-ranked edition; if it has no description, one is borrowed
+     * from another edition so it doesn't need a detail call. Keeps first-appearance order
+     */
+    public static List<Book> dedupeEditions(List<Book> books) {
+        if (books == null || books.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        Map<String, List<Book>> clusters = new LinkedHashMap<>();
+        for (Book book : books) {
+            String key = normalizeTitle(book.getTitle()) + "|" + normalizeAuthor(book.getAuthor());
+            List<Book> cluster = clusters.get(key);
+            if (cluster == null) {
+                cluster = new ArrayList<>();
+                clusters.put(key, cluster);
+            }
+            cluster.add(book);
+        }
+        
+        BookQualityComparator comparator = new BookQualityComparator();
+        List<Book> deduped = new ArrayList<>(clusters.size());
+        for (List<Book> cluster : clusters.values()) {
+            Book best = cluster.get(0);
+            for (Book candidate : cluster) {
+                if (comparator.compare(candidate, best) < 0) {
+                    best = candidate;
+                }
+            }
+            
+            if (isBlank(best.getDescription())) {
+                for (Book candidate : cluster) {
+                    if (!isBlank(candidate.getDescription())) {
+                        best.setDescription(candidate.getDescription());
+                        break;
+                    }
+                }
+            }
+            deduped.add(best);
+        }
+        return deduped;
+    }
+    
+    /**
+     * Title reduced to what identifies the work: no edition suffix or bracketed edition note,
+     * no leading article or punctuation
+     */
+    static String normalizeTitle(String title) {
+        if (title == null) {
+            return "";
+        }
+        String normalized = title.toLowerCase(Locale.ROOT).trim();
+        normalized = EDITION_BRACKETED.matcher(normalized).replaceAll("");
+        normalized = EDITION_SUFFIX.matcher(normalized).replaceAll("");
+        normalized = LEADING_ARTICLE.matcher(normalized).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(normalized).replaceAll("");
+    }
+    
+    /**
+     * First author reduced to letters and digits ("J. R. R. Tolkien" == "J.R.R. Tolkien")
+     */
+    static String normalizeAuthor(String author) {
+        if (author == null) {
+            return "";
+        }
+        String first = author.split(",")[0];
+        return NON_ALPHANUMERIC.matcher(first.toLowerCase(Locale.ROOT)).replaceAll("");
+    }
+    
+    private static boolean isBlank(String text) {
+        return text == null || text.trim().isEmpty();
+    }
+    
     /**
      * Rank books by ratings (highest-rated first)
      * Priority: ratingsCount DESC, averageRating DESC, publishedDate DESC
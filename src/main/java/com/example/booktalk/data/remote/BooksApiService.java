@@ -21,6 +21,8 @@ public interface BooksApiService {
      * @param langRestrict Language restriction (e.g., "en" for English)
      * @param country Country code (e.g., "US" for United States)
      * @param startIndex Starting index for pagination (0-based)
+     * @param fields Partial-response field selector (null for the full payload)
+     * @param projection Projection: "full" or "lite" (null for the API default)
      * @param key API key
      */
     @GET("volumes")
@@ -32,6 +34,26 @@ public interface BooksApiService {
             @Query("langRestrict") String langRestrict,
             @Query("country") String country,
             @Query("startIndex") Integer startIndex,
+            @Query("fields") String fields,
+            @Query("projection") String projection,
+            @Query("key") String key
+    );
+    
+    /**
+     * Search books by query, decoded straight into Book models (see StreamingBookDecoder)
+     * Same parameters as searchBooks; items without title, author or cover are dropped
+     */
+    @GET("volumes")
+    Call<BookPage> searchBookPage(
+            @Query("q") String query,
+            @Query("maxResults") int maxResults,
+            @Query("printType") String printType,
+            @Query("orderBy") String orderBy,
+            @Query("langRestrict") String langRestrict,
+            @Query("country") String country,
+            @Query("startIndex") Integer startIndex,
+            @Query("fields") String fields,
+            @Query("projection") String projection,
             @Query("key") String key
     );
     
@@ -39,12 +61,16 @@ public interface BooksApiService {
      * Get book details by volume ID
      * @param volumeId Google Books volume ID
      * @param country Country code (e.g., "US" for United States)
+     * @param fields Partial-response field selector (null for the full payload)
+     * @param projection Projection: "full" or "lite" (null for the API default)
      * @param key API key
      */
     @GET("volumes/{volumeId}")
     Call<VolumeResponse> getBookDetails(
             @Path("volumeId") String volumeId,
             @Query("country") String country,
+            @Query("fields") String fields,
+            @Query("projection") String projection,
             @Query("key") String key
     );
 }
@@ -0,0 +1,68 @@
+package com.example.booktalk.data.remote;
+
+import androidx.annotation.NonNull;
+import okhttp3.Dns;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DNS resolver that keeps lookups for a fixed TTL
+ * The platform resolver does not expose record TTLs, so a short fixed TTL is used.
+ * If a refresh fails (e.g. flaky network) the expired entry is served instead
+ */
+public class CachingDns implements Dns {
+    private static final String TAG = "CachingDns";
+    
+    private final Dns delegate;
+    private final long ttlMs;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    
+    private static class Entry {
+        final List<InetAddress> addresses;
+        final long expiresAt;
+        
+        Entry(List<InetAddress> addresses, long expiresAt) {
+            this.addresses = addresses;
+            this.expiresAt = expiresAt;
+        }
+    }
+    
+    public CachingDns(Dns delegate, long ttl, TimeUnit unit) {
+        this.delegate = delegate;
+        this.ttlMs = unit.toMillis(ttl);
+    }
+    
+    @NonNull
+    @Override
+    public List<InetAddress> lookup(@NonNull String hostname) throws UnknownHostException {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(hostname);
+        if (entry != null && entry.expiresAt > now) {
+            return entry.addresses;
+        }
+        
+        try {
+            List<InetAddress> addresses = delegate.lookup(hostname);
+            entries.put(hostname, new Entry(addresses, now + ttlMs));
+            return addresses;
+        } catch (UnknownHostException e) {
+            if (entry != null) {
+                android.util.Log.w(TAG, "Lookup of " + hostname + " failed, using expired entry");
+                return entry.addresses;
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Drop all cached entries (e.g. after switching networks)
+     */
+    public void clear() {
+        entries.clear();
+    }
+}
+
@@ -0,0 +1,78 @@
+package com.example.booktalk.data.remote;
+
+import retrofit2.Call;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cancels one operation (a search and its page loads) together with every call it has in flight
+ * Calls are registered before execute(); cancel() aborts them mid-transfer with Call.cancel(),
+ * and calls registered afterwards are cancelled straight away
+ */
+public class CancellationToken {
+    private static final CancellationToken NONE = new CancellationToken();
+    
+    private final List<Call<?>> calls = new ArrayList<>();
+    private boolean cancelled;
+    
+    /**
+     * Token that is never cancelled (background work)
+     */
+    public static CancellationToken none() {
+        return NONE;
+    }
+    
+    /**
+     * Cancel the operation and every registered call (safe to call more than once)
+     */
+    public void cancel() {
+        if (this == NONE) {
+            return;
+        }
+        List<Call<?>> toCancel;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            toCancel = new ArrayList<>(calls);
+            calls.clear();
+        }
+        for (Call<?> call : toCancel) {
+            call.cancel();
+        }
+    }
+    
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+    
+    /**
+     * @throws InterruptedIOException If the operation was cancelled
+     */
+    public void throwIfCancelled() throws InterruptedIOException {
+        if (isCancelled()) {
+            throw new InterruptedIOException("Cancelled");
+        }
+    }
+    
+    /**
+     * Track the call so cancel() can abort it (call before execute())
+     * @throws InterruptedIOException If the operation was already cancelled
+     */
+    public <T> Call<T> register(Call<T> call) throws InterruptedIOException {
+        if (this == NONE) {
+            return call;
+        }
+        synchronized (this) {
+            if (!cancelled) {
+                calls.add(call);
+                return call;
+            }
+        }
+        call.cancel();
+        throw new InterruptedIOException("Cancelled");
+    }
+}
+
@@ -0,0 +1,116 @@
+package com.example.booktalk.data.remote;
+
+/**
+ * Circuit breaker for the Google Books API
+ * - CLOSED: requests flow; consecutive failures are counted
+ * - OPEN: requests fail fast (CircuitOpenException) until the cool-down ends
+ * - HALF_OPEN: a single probe is let through; success closes, failure re-opens
+ *   with a longer cool-down
+ * Repositories can check isOpen() to skip optional work (e.g. enrichment)
+ */
+public class CircuitBreaker {
+    private static final String TAG = "CircuitBreaker";
+    private static final int FAILURE_THRESHOLD = 5;
+    private static final long BASE_OPEN_MS = 15_000;
+    private static final long MAX_OPEN_MS = 5 * 60_000;
+    
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+    
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openUntil;
+    private long openDurationMs = BASE_OPEN_MS;
+    private boolean probeInFlight;
+    
+    public synchronized State getState() {
+        return state;
+    }
+    
+    /**
+     * True while requests would fail fast: cooling down, or a probe already in flight
+     * Turns false once the cool-down ends, so the next request (optional or not) can be the probe;
+     * only tryAcquire() moves the state to HALF_OPEN
+     */
+    public synchronized boolean isOpen() {
+        switch (state) {
+            case OPEN:
+                return System.currentTimeMillis() < openUntil;
+            case HALF_OPEN:
+                return probeInFlight;
+            default:
+                return false;
+        }
+    }
+    
+    /**
+     * Milliseconds until the next probe is allowed (0 if requests may go now)
+     */
+    public synchronized long getRetryAfterMs() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        return Math.max(0, openUntil - System.currentTimeMillis());
+    }
+    
+    /**
+     * Ask to send a request; false means fail fast
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.currentTimeMillis() < openUntil) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                android.util.Log.i(TAG, "Half-open, sending probe");
+                return true;
+            default:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+        }
+    }
+    
+    public synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            android.util.Log.i(TAG, "Probe succeeded, closing circuit");
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        openDurationMs = BASE_OPEN_MS;
+        probeInFlight = false;
+    }
+    
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            openDurationMs = Math.min(MAX_OPEN_MS, openDurationMs * 2);
+            trip();
+            return;
+        }
+        
+        consecutiveFailures++;
+        if (state == State.CLOSED && consecutiveFailures >= FAILURE_THRESHOLD) {
+            trip();
+        }
+    }
+    
+    /**
+     * The request ended without telling us anything (e.g. cancelled); release the probe slot
+     */
+    public synchronized void onIgnored() {
+        probeInFlight = false;
+    }
+    
+    private void trip() {
+        state = State.OPEN;
+        openUntil = System.currentTimeMillis() + openDurationMs;
+        probeInFlight = false;
+        android.util.Log.w(TAG, "Circuit open for " + openDurationMs + " ms after " + consecutiveFailures + " failures");
+    }
+}
+
@@ -0,0 +1,106 @@
+package com.example.booktalk.data.remote;
+
+import androidx.annotation.NonNull;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Application interceptor that guards calls with the CircuitBreaker and retries
+ * idempotent GETs that fail with an I/O error
+ * Retries draw from a budget refilled by successful calls, so an outage cannot
+ * multiply traffic; 5xx responses and I/O errors (including an expired Deadline)
+ * count as failures, calls cancelled by their caller don't count
+ */
+public class CircuitBreakerInterceptor implements Interceptor {
+    private static final String TAG = "CircuitBreaker";
+    private static final int MAX_RETRIES = 2;
+    private static final long BASE_RETRY_DELAY_MS = 250;
+    private static final double RETRY_CREDIT_PER_SUCCESS = 0.1; // ~10% retries in steady state
+    private static final double MAX_RETRY_CREDITS = 10;
+    
+    private final CircuitBreaker circuitBreaker;
+    private double retryCredits = MAX_RETRY_CREDITS;
+    
+    public CircuitBreakerInterceptor(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+    
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        
+        // Cache-only requests (offline mode) never reach the network
+        if (request.cacheControl().onlyIfCached()) {
+            return chain.proceed(request);
+        }
+        
+        boolean idempotent = "GET".equals(request.method()) || "HEAD".equals(request.method());
+        int attempt = 0;
+        while (true) {
+            if (!circuitBreaker.tryAcquire()) {
+                throw new CircuitOpenException(circuitBreaker.getRetryAfterMs());
+            }
+            
+            Request attemptRequest = attempt == 0 ? request : request.newBuilder()
+                    .header(NetworkTelemetry.HEADER_ATTEMPT, String.valueOf(attempt))
+                    .build();
+            
+            Response response;
+            try {
+                response = chain.proceed(attemptRequest);
+            } catch (IOException e) {
+                boolean canceled = chain.call().isCanceled();
+                if (canceled && !Deadline.hasExpired(chain.call().timeout())) {
+                    // Abandoned by its caller (search replaced, hedge lost): says nothing about the API
+                    circuitBreaker.onIgnored();
+                    throw e;
+                }
+                // A call that ran out its deadline waited on the API like any other timeout
+                circuitBreaker.onFailure();
+                if (canceled || !idempotent || attempt >= MAX_RETRIES || !spendRetryCredit()) {
+                    throw e;
+                }
+                android.util.Log.w(TAG, "Retrying " + request.url().encodedPath() + " after " + e.getMessage());
+                sleepBeforeRetry(attempt);
+                attempt++;
+                continue;
+            }
+            
+            if (response.code() >= 500) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+                earnRetryCredit();
+            }
+            return response;
+        }
+    }
+    
+    private synchronized boolean spendRetryCredit() {
+        if (retryCredits < 1) {
+            return false;
+        }
+        retryCredits -= 1;
+        return true;
+    }
+    
+    private synchronized void earnRetryCredit() {
+        retryCredits = Math.min(MAX_RETRY_CREDITS, retryCredits + RETRY_CREDIT_PER_SUCCESS);
+    }
+    
+    private void sleepBeforeRetry(int attempt) throws InterruptedIOException {
+        long ceiling = BASE_RETRY_DELAY_MS << attempt;
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry");
+        }
+    }
+}
+
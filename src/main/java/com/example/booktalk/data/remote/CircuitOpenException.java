@@ -0,0 +1,15 @@
+package com.example.booktalk.data.remote;
+
+import java.io.IOException;
+
+/**
+ * Thrown instead of sending a request while the circuit is open
+ * An IOException so existing "fall back to cached data" paths handle it
+ */
+public class CircuitOpenException extends IOException {
+    
+    public CircuitOpenException(long retryAfterMs) {
+        super("Google Books API unavailable, retry in " + retryAfterMs + " ms");
+    }
+}
+
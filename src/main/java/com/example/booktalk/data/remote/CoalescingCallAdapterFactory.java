@@ -0,0 +1,233 @@
+package com.example.booktalk.data.remote;
+
+import androidx.annotation.NonNull;
+import okhttp3.Request;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-flight coalescing in front of BooksApiService
+ * Concurrent execute() calls for the same request URL (same volume, same query and
+ * parameters) share one network call and its parsed response instead of each
+ * sending their own. Results are not cached: once the call finishes, the next
+ * caller goes to the network (and the HTTP cache) again.
+ * Cancelling a joined call only stops that caller's wait; if the caller whose call
+ * went out cancels it, the others send the request again themselves.
+ * Every caller gets its own copy of a BookPage body, since the books in it are
+ * mutated afterwards (descriptions filled in, editions merged). Other bodies
+ * (VolumeResponse) are shared as-is and must be treated as read-only
+ */
+public class CoalescingCallAdapterFactory extends CallAdapter.Factory {
+    
+    private final Map<String, CompletableFuture<Response<?>>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong executedCalls = new AtomicLong();
+    private final AtomicLong coalescedCalls = new AtomicLong();
+    
+    /**
+     * Number of calls that actually went out (leaders)
+     */
+    public long getExecutedCalls() {
+        return executedCalls.get();
+    }
+    
+    /**
+     * Number of calls saved by joining an identical in-flight call
+     */
+    public long getCoalescedCalls() {
+        return coalescedCalls.get();
+    }
+    
+    /**
+     * Get the underlying call, which always goes to the network itself
+     * (e.g. for a hedge that must not join the call it is racing)
+     */
+    public static <T> Call<T> uncoalesced(Call<T> call) {
+        if (call instanceof CoalescingCall) {
+            return ((CoalescingCall<T>) call).delegate;
+        }
+        return call;
+    }
+    
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Override
+    public CallAdapter<?, ?> get(@NonNull Type returnType, @NonNull Annotation[] annotations, @NonNull Retrofit retrofit) {
+        if (getRawType(returnType) != Call.class) {
+            return null;
+        }
+        
+        // Keep Retrofit's default adapter underneath and wrap what it returns
+        CallAdapter delegate = retrofit.nextCallAdapter(this, returnType, annotations);
+        return new CallAdapter<Object, Object>() {
+            @NonNull
+            @Override
+            public Type responseType() {
+                return delegate.responseType();
+            }
+            
+            @NonNull
+            @Override
+            public Object adapt(@NonNull Call<Object> call) {
+                return new CoalescingCall<>((Call<Object>) delegate.adapt(call));
+            }
+        };
+    }
+    
+    /**
+     * Call wrapper whose execute() joins an identical in-flight call when there is one
+     */
+    private class CoalescingCall<T> implements Call<T> {
+        private final Call<T> delegate;
+        private volatile CompletableFuture<Response<?>> waiting;
+        
+        CoalescingCall(Call<T> delegate) {
+            this.delegate = delegate;
+        }
+        
+        @NonNull
+        @SuppressWarnings("unchecked")
+        @Override
+        public Response<T> execute() throws IOException {
+            String key = delegate.request().method() + " " + delegate.request().url();
+            CompletableFuture<Response<?>> leader = new CompletableFuture<>();
+            CompletableFuture<Response<?>> existing;
+            while ((existing = inFlight.putIfAbsent(key, leader)) != null) {
+                try {
+                    Response<?> shared = await(existing, delegate.timeout().timeoutNanos());
+                    // Counted only now: a retry after a cancelled leader may end up leading its own call
+                    coalescedCalls.incrementAndGet();
+                    return (Response<T>) copyOf(shared);
+                } catch (LeaderCanceledException e) {
+                    // Its caller gave up on it, but this one still wants the response: join or lead the next one
+                }
+            }
+            
+            executedCalls.incrementAndGet();
+            try {
+                Response<T> response = delegate.execute();
+                // Followers copy from a snapshot taken before this caller can modify its body
+                Response<?> snapshot = copyOf(response);
+                // Leave inFlight before waking followers, so a retrying follower can't find this finished call
+                inFlight.remove(key, leader);
+                leader.complete(snapshot);
+                return response;
+            } catch (IOException | RuntimeException e) {
+                inFlight.remove(key, leader);
+                leader.completeExceptionally(delegate.isCanceled() ? new LeaderCanceledException() : e);
+                throw e;
+            }
+        }
+        
+        /**
+         * Wait for the leader, no longer than this call's own timeout (0 = no limit)
+         */
+        private Response<?> await(CompletableFuture<Response<?>> future, long timeoutNanos) throws IOException {
+            // Wait on a dependent future, so cancel() can end this wait without touching the shared one
+            CompletableFuture<Response<?>> own = future.thenApply(response -> response);
+            waiting = own;
+            if (delegate.isCanceled()) {
+                own.cancel(false);
+            }
+            try {
+                return timeoutNanos > 0 ? own.get(timeoutNanos, TimeUnit.NANOSECONDS) : own.get();
+            } catch (CancellationException e) {
+                throw new IOException("Canceled");
+            } catch (TimeoutException e) {
+                throw new InterruptedIOException("timeout");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a shared call");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IOException(cause);
+            } finally {
+                waiting = null;
+            }
+        }
+        
+        @Override
+        public void enqueue(@NonNull Callback<T> callback) {
+            // Async calls are not coalesced
+            delegate.enqueue(callback);
+        }
+        
+        @Override
+        public boolean isExecuted() {
+            return delegate.isExecuted();
+        }
+        
+        @Override
+        public void cancel() {
+            delegate.cancel();
+            CompletableFuture<Response<?>> own = waiting;
+            if (own != null) {
+                own.cancel(false);
+            }
+        }
+        
+        @Override
+        public boolean isCanceled() {
+            return delegate.isCanceled();
+        }
+        
+        @NonNull
+        @Override
+        public Call<T> clone() {
+            return new CoalescingCall<>(delegate.clone());
+        }
+        
+        @NonNull
+        @Override
+        public Request request() {
+            return delegate.request();
+        }
+        
+        @NonNull
+        @Override
+        public Timeout timeout() {
+            return delegate.timeout();
+        }
+    }
+    
+    /**
+     * Same response with a private copy of a mutable body
+     */
+    private static Response<?> copyOf(Response<?> response) {
+        Object body = response.body();
+        if (!(body instanceof BookPage)) {
+            return response;
+        }
+        return Response.success(((BookPage) body).copy(), response.raw());
+    }
+    
+    /**
+     * Failure handed to joined callers when the call they joined was cancelled by its own caller
+     */
+    private static class LeaderCanceledException extends IOException {
+        LeaderCanceledException() {
+            super("Shared call was cancelled");
+        }
+    }
+}
+
@@ -0,0 +1,79 @@
+package com.example.booktalk.data.remote;
+
+import okio.Timeout;
+import retrofit2.Call;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time budget for one operation (a search, a page load) shared by all of its network steps
+ * Each call gets the remaining time as its call timeout, so the whole operation ends
+ * by the deadline instead of every step waiting out the client's own timeouts
+ */
+public class Deadline {
+    private static final Deadline NONE = new Deadline(Long.MAX_VALUE);
+    
+    private final long expiresAt;
+    
+    private Deadline(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+    
+    /**
+     * Deadline durationMs from now
+     */
+    public static Deadline after(long durationMs) {
+        return new Deadline(System.currentTimeMillis() + durationMs);
+    }
+    
+    /**
+     * No deadline (background work): calls keep the client timeouts
+     */
+    public static Deadline none() {
+        return NONE;
+    }
+    
+    public boolean isNone() {
+        return this == NONE;
+    }
+    
+    /**
+     * Milliseconds left (0 once expired, Long.MAX_VALUE for none())
+     */
+    public long remainingMs() {
+        if (isNone()) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, expiresAt - System.currentTimeMillis());
+    }
+    
+    public boolean isExpired() {
+        return remainingMs() == 0;
+    }
+    
+    /**
+     * Limit the call to the remaining time (call before execute())
+     * @throws InterruptedIOException If the deadline has already passed
+     */
+    public <T> Call<T> apply(Call<T> call) throws InterruptedIOException {
+        if (isNone()) {
+            return call;
+        }
+        long remaining = remainingMs();
+        if (remaining == 0) {
+            throw new InterruptedIOException("Deadline exceeded");
+        }
+        // The absolute deadline lets hasExpired() tell an expiry from a caller's cancel
+        call.timeout().timeout(remaining, TimeUnit.MILLISECONDS).deadline(remaining, TimeUnit.MILLISECONDS);
+        return call;
+    }
+    
+    /**
+     * Whether the deadline apply() gave a call has passed
+     * OkHttp cancels a call whose timeout fires, so isCanceled() alone can't tell the two apart
+     */
+    public static boolean hasExpired(Timeout timeout) {
+        return timeout.hasDeadline() && timeout.deadlineNanoTime() - System.nanoTime() <= 0;
+    }
+}
+
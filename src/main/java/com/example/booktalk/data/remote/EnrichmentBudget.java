@@ -0,0 +1,118 @@
+package com.example.booktalk.data.remote;
+
+/**
+ * App-wide budget for description detail calls (getBookDetails)
+ * Every enrichment run draws from the same per-minute and per-day ceilings, so
+ * several category refreshes and a search cannot burst past the API quota together.
+ * Background work may only use part of each window; the rest is kept for
+ * user-initiated work (search, detail page)
+ */
+public class EnrichmentBudget {
+    private static final String TAG = "EnrichmentBudget";
+    private static final long MINUTE_MS = 60_000;
+    private static final long DAY_MS = 24 * 60 * MINUTE_MS;
+    
+    public enum Priority { USER, BACKGROUND }
+    
+    private final int perMinute;
+    private final int perDay;
+    private final int backgroundPerMinute;
+    private final int backgroundPerDay;
+    
+    private long minuteWindowStart;
+    private long dayWindowStart;
+    private int minuteUsed;
+    private int dayUsed;
+    private long userDenied;
+    private long backgroundDenied;
+    
+    /**
+     * @param perMinute Detail calls allowed per minute (all priorities)
+     * @param perDay Detail calls allowed per day (all priorities)
+     * @param backgroundShare Fraction (0..1) of each window background work may use
+     */
+    public EnrichmentBudget(int perMinute, int perDay, double backgroundShare) {
+        double share = Math.max(0.0, Math.min(1.0, backgroundShare));
+        this.perMinute = perMinute;
+        this.perDay = perDay;
+        this.backgroundPerMinute = (int) (perMinute * share);
+        this.backgroundPerDay = (int) (perDay * share);
+    }
+    
+    /**
+     * Take one detail call from the budget; false means skip the call
+     */
+    public synchronized boolean tryAcquire(Priority priority) {
+        roll(System.currentTimeMillis());
+        if (remaining(priority) <= 0) {
+            if (priority == Priority.USER) {
+                userDenied++;
+            } else {
+                backgroundDenied++;
+            }
+            return false;
+        }
+        minuteUsed++;
+        dayUsed++;
+        return true;
+    }
+    
+    /**
+     * Count a call that is made regardless of the budget (an explicit user request, e.g. opening a book)
+     * It still uses up quota, so background work sees less of it
+     */
+    public synchronized void consume() {
+        roll(System.currentTimeMillis());
+        minuteUsed++;
+        dayUsed++;
+    }
+    
+    /**
+     * Detail calls the given priority may still make right now
+     */
+    public synchronized int getRemaining(Priority priority) {
+        roll(System.currentTimeMillis());
+        return remaining(priority);
+    }
+    
+    public synchronized int getUsedThisMinute() {
+        roll(System.currentTimeMillis());
+        return minuteUsed;
+    }
+    
+    public synchronized int getUsedToday() {
+        roll(System.currentTimeMillis());
+        return dayUsed;
+    }
+    
+    /**
+     * Number of detail calls refused for the given priority since start
+     */
+    public synchronized long getDenied(Priority priority) {
+        return priority == Priority.USER ? userDenied : backgroundDenied;
+    }
+    
+    private int remaining(Priority priority) {
+        int minuteCeiling = priority == Priority.USER ? perMinute : backgroundPerMinute;
+        int dayCeiling = priority == Priority.USER ? perDay : backgroundPerDay;
+        return Math.max(0, Math.min(minuteCeiling - minuteUsed, dayCeiling - dayUsed));
+    }
+    
+    /**
+     * Start new windows once the current ones have elapsed
+     */
+    private void roll(long now) {
+        if (now - minuteWindowStart >= MINUTE_MS) {
+            minuteWindowStart = now;
+            minuteUsed = 0;
+        }
+        if (now - dayWindowStart >= DAY_MS) {
+            if (dayUsed > 0) {
+                android.util.Log.d(TAG, "Daily budget reset after " + dayUsed + " detail calls");
+            }
+            dayWindowStart = now;
+            dayUsed = 0;
+        }
+    }
+}
+
@@ -0,0 +1,69 @@
+package com.example.booktalk.data.remote;
+
+/**
+ * How much to fetch for the current network (chosen by NetworkQualityMonitor)
+ * Slow or metered links ask for smaller pages, skip the second page, make fewer
+ * description calls and load smaller covers, so results arrive instead of timing out
+ */
+public enum FetchProfile {
+    FULL(40, true, 30, 20, false),
+    METERED(20, false, 20, 12, true),
+    SLOW(20, false, 10, 8, true);
+    
+    private final int pageSize;
+    private final boolean fetchSecondPage;
+    private final int searchDetailCalls;
+    private final int categoryDetailCalls;
+    private final boolean smallCovers;
+    
+    FetchProfile(int pageSize, boolean fetchSecondPage, int searchDetailCalls, int categoryDetailCalls, boolean smallCovers) {
+        this.pageSize = pageSize;
+        this.fetchSecondPage = fetchSecondPage;
+        this.searchDetailCalls = searchDetailCalls;
+        this.categoryDetailCalls = categoryDetailCalls;
+        this.smallCovers = smallCovers;
+    }
+    
+    /**
+     * maxResults for list calls
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+    
+    /**
+     * Whether a home category may fetch a second page of candidates
+     */
+    public boolean isFetchSecondPage() {
+        return fetchSecondPage;
+    }
+    
+    /**
+     * Upper bound on description calls for one search page
+     */
+    public int getSearchDetailCalls() {
+        return searchDetailCalls;
+    }
+    
+    /**
+     * Upper bound on description calls for one category refresh
+     */
+    public int getCategoryDetailCalls() {
+        return categoryDetailCalls;
+    }
+    
+    public boolean isSmallCovers() {
+        return smallCovers;
+    }
+    
+    /**
+     * Cover URL to load in lists: Google Books serves the small thumbnail for zoom=5
+     */
+    public String coverUrl(String url) {
+        if (!smallCovers || url == null) {
+            return url;
+        }
+        return url.replace("zoom=1", "zoom=5");
+    }
+}
+
@@ -0,0 +1,197 @@
+package com.example.booktalk.data.remote;
+
+import com.example.booktalk.util.TaskScheduler;
+import retrofit2.Call;
+import retrofit2.Response;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hedged execution for latency-sensitive calls (search)
+ * If a call has not answered within the p90 of recent latencies, an identical
+ * second call is sent and whichever answers first wins (a losing hedge is cancelled).
+ * Hedges are paid for with credits earned per call, which caps the extra traffic
+ */
+public class HedgedCallExecutor {
+    private static final String TAG = "HedgedCallExecutor";
+    private static final int LATENCY_WINDOW = 64;
+    private static final int MIN_SAMPLES = 16; // don't hedge until p90 means something
+    private static final double HEDGE_PERCENTILE = 0.9;
+    private static final double HEDGE_CREDIT_PER_CALL = 0.1; // at most ~10% extra calls
+    private static final double MAX_HEDGE_CREDITS = 3;
+    
+    private static final int MAX_CONCURRENT_CALLS = 6;
+    
+    // A call blocks its thread for its whole duration; bounded and ordered by the caller's priority,
+    // with queue depth and waits reported by TaskScheduler.describeAll()
+    private static final TaskScheduler HEDGE_CALLS =
+            TaskScheduler.newPool("hedge", MAX_CONCURRENT_CALLS, MAX_CONCURRENT_CALLS / 3);
+    
+    private final long[] latencies = new long[LATENCY_WINDOW];
+    private int latencyCount;
+    private int latencyCursor;
+    private double hedgeCredits;
+    private volatile boolean enabled = true;
+    
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong hedgesSent = new AtomicLong();
+    private final AtomicLong hedgesWon = new AtomicLong();
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public long getCalls() {
+        return calls.get();
+    }
+    
+    /**
+     * Number of duplicate calls sent
+     */
+    public long getHedgesSent() {
+        return hedgesSent.get();
+    }
+    
+    /**
+     * Number of times the duplicate answered first
+     */
+    public long getHedgesWon() {
+        return hedgesWon.get();
+    }
+    
+    /**
+     * Current hedge delay (p90 of the recent window), or -1 while still learning
+     */
+    public synchronized long getHedgeThresholdMs() {
+        if (latencyCount < MIN_SAMPLES) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(latencies, latencyCount);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(latencyCount * HEDGE_PERCENTILE) - 1;
+        return sorted[Math.max(0, Math.min(index, latencyCount - 1))];
+    }
+    
+    /**
+     * Execute the call, hedging it if it runs past the threshold
+     * Blocking; behaves like call.execute() for the caller
+     */
+    public <T> Response<T> execute(Call<T> call) throws IOException {
+        calls.incrementAndGet();
+        earnCredit();
+        
+        long thresholdMs = enabled ? getHedgeThresholdMs() : -1;
+        if (thresholdMs < 0) {
+            long startTime = System.currentTimeMillis();
+            Response<T> response = call.execute();
+            recordLatency(System.currentTimeMillis() - startTime);
+            return response;
+        }
+        
+        CompletionService<Response<T>> completionService = new ExecutorCompletionService<>(HEDGE_CALLS.asExecutor());
+        long startTime = System.currentTimeMillis();
+        Future<Response<T>> primary = completionService.submit(call::execute);
+        Call<T> hedge = null;
+        Future<Response<T>> hedgeFuture = null;
+        
+        try {
+            Future<Response<T>> done = completionService.poll(thresholdMs, TimeUnit.MILLISECONDS);
+            if (done == null && !call.isCanceled() && spendCredit()) {
+                // The hedge must not join the primary through the single-flight layer
+                hedge = CoalescingCallAdapterFactory.uncoalesced(call).clone();
+                // A clone starts without the caller's deadline; give it what is left of it
+                long timeoutNanos = call.timeout().timeoutNanos();
+                if (timeoutNanos > 0) {
+                    long elapsedNanos = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() - startTime);
+                    hedge.timeout().timeout(Math.max(1, timeoutNanos - elapsedNanos), TimeUnit.NANOSECONDS);
+                }
+                if (call.timeout().hasDeadline()) {
+                    hedge.timeout().deadlineNanoTime(call.timeout().deadlineNanoTime());
+                }
+                hedgesSent.incrementAndGet();
+                android.util.Log.d(TAG, "No answer after " + thresholdMs + " ms, sending hedge for " + call.request().url().encodedPath());
+                hedgeFuture = completionService.submit(hedge::execute);
+            }
+            
+            int outstanding = hedgeFuture != null ? 2 : 1;
+            IOException failure = null;
+            while (outstanding > 0) {
+                if (done == null) {
+                    done = completionService.take();
+                }
+                outstanding--;
+                try {
+                    Response<T> response = done.get();
+                    recordLatency(System.currentTimeMillis() - startTime);
+                    if (done == hedgeFuture) {
+                        // The primary is left to finish: other callers may have joined it
+                        hedgesWon.incrementAndGet();
+                    } else if (hedge != null) {
+                        hedge.cancel();
+                    }
+                    return response;
+                } catch (ExecutionException e) {
+                    // One failed; wait for the other if there is one
+                    failure = asIOException(e.getCause());
+                    if (call.isCanceled()) {
+                        // Cancelled by the caller: the hedge is not wanted either
+                        if (hedge != null) {
+                            hedge.cancel();
+                        }
+                        throw failure;
+                    }
+                }
+                done = null;
+            }
+            throw failure;
+        } catch (InterruptedException e) {
+            if (hedge != null) {
+                hedge.cancel();
+            }
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a hedged call");
+        }
+    }
+    
+    private synchronized void recordLatency(long latencyMs) {
+        latencies[latencyCursor] = latencyMs;
+        latencyCursor = (latencyCursor + 1) % LATENCY_WINDOW;
+        if (latencyCount < LATENCY_WINDOW) {
+            latencyCount++;
+        }
+    }
+    
+    private synchronized void earnCredit() {
+        hedgeCredits = Math.min(MAX_HEDGE_CREDITS, hedgeCredits + HEDGE_CREDIT_PER_CALL);
+    }
+    
+    private synchronized boolean spendCredit() {
+        if (hedgeCredits < 1) {
+            return false;
+        }
+        hedgeCredits -= 1;
+        return true;
+    }
+    
+    private static IOException asIOException(Throwable cause) {
+        if (cause instanceof IOException) {
+            return (IOException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        return new IOException(cause);
+    }
+}
+
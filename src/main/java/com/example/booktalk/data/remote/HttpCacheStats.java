@@ -0,0 +1,123 @@
+package com.example.booktalk.data.remote;
+
+import androidx.annotation.NonNull;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Response;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-endpoint HTTP cache counters fed by OkHttp cache events
+ * - hit: served from disk without touching the network
+ * - miss: nothing cached, full download
+ * - revalidation: conditional request sent (If-None-Match / If-Modified-Since)
+ * - notModified: revalidation answered with 304, body served from disk
+ */
+public class HttpCacheStats {
+    
+    private final Map<String, EndpointCounters> counters = new ConcurrentHashMap<>();
+    
+    /**
+     * Counters for one endpoint
+     */
+    public static class EndpointCounters {
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private final AtomicLong revalidations = new AtomicLong();
+        private final AtomicLong notModified = new AtomicLong();
+        
+        public long getHits() {
+            return hits.get();
+        }
+        
+        public long getMisses() {
+            return misses.get();
+        }
+        
+        public long getRevalidations() {
+            return revalidations.get();
+        }
+        
+        public long getNotModified() {
+            return notModified.get();
+        }
+        
+        @NonNull
+        @Override
+        public String toString() {
+            return "hits=" + getHits() + ", misses=" + getMisses() +
+                    ", revalidations=" + getRevalidations() + ", notModified=" + getNotModified();
+        }
+    }
+    
+    /**
+     * Get counters for an endpoint (see ApiEndpoints)
+     */
+    public EndpointCounters getCounters(String endpoint) {
+        EndpointCounters endpointCounters = counters.get(endpoint);
+        if (endpointCounters == null) {
+            endpointCounters = counters.computeIfAbsent(endpoint, key -> new EndpointCounters());
+        }
+        return endpointCounters;
+    }
+    
+    /**
+     * Get all endpoints seen so far
+     */
+    public List<String> getEndpoints() {
+        return new ArrayList<>(counters.keySet());
+    }
+    
+    /**
+     * Factory to install on the OkHttpClient (one listener per call)
+     */
+    public EventListener.Factory listenerFactory() {
+        return call -> new CallListener();
+    }
+    
+    @NonNull
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, EndpointCounters> entry : counters.entrySet()) {
+            if (builder.length() > 0) {
+                builder.append("; ");
+            }
+            builder.append(entry.getKey()).append(": ").append(entry.getValue());
+        }
+        return builder.toString();
+    }
+    
+    /**
+     * Per-call listener so a 304 after a conditional request is not counted as a plain hit
+     */
+    private class CallListener extends EventListener {
+        private boolean conditional;
+        
+        @Override
+        public void cacheHit(@NonNull Call call, @NonNull Response response) {
+            EndpointCounters endpointCounters = getCounters(ApiEndpoints.endpointOf(call.request().url()));
+            if (conditional) {
+                endpointCounters.notModified.incrementAndGet();
+            } else {
+                endpointCounters.hits.incrementAndGet();
+            }
+        }
+        
+        @Override
+        public void cacheMiss(@NonNull Call call) {
+            getCounters(ApiEndpoints.endpointOf(call.request().url())).misses.incrementAndGet();
+        }
+        
+        @Override
+        public void cacheConditionalHit(@NonNull Call call, @NonNull Response cachedResponse) {
+            conditional = true;
+            getCounters(ApiEndpoints.endpointOf(call.request().url())).revalidations.incrementAndGet();
+        }
+    }
+}
+
@@ -0,0 +1,88 @@
+package com.example.booktalk.data.remote;
+
+import android.net.NetworkCapabilities;
+
+/**
+ * Picks a FetchProfile from the default network's capabilities and the throughput
+ * actually observed on API responses (fed by NetworkTelemetry)
+ * Capabilities give a first guess as soon as the network changes; once a few real
+ * transfers have been measured, observed throughput takes over
+ */
+public class NetworkQualityMonitor implements NetworkTelemetry.TransferListener {
+    private static final String TAG = "NetworkQuality";
+    private static final int SLOW_LINK_KBPS = 500;
+    private static final long MIN_SAMPLE_BYTES = 8 * 1024; // smaller bodies arrive in a read or two and say little
+    private static final int MIN_SAMPLES = 3;
+    private static final double EWMA_ALPHA = 0.3;
+    
+    private boolean metered;
+    private int linkDownstreamKbps = -1;
+    private double observedKbps = -1;
+    private int samples;
+    private volatile FetchProfile profile = FetchProfile.FULL;
+    
+    /**
+     * Current profile; cheap to call from any thread
+     */
+    public FetchProfile getProfile() {
+        return profile;
+    }
+    
+    /**
+     * Smoothed throughput of recent API responses, or -1 until enough were measured
+     */
+    public synchronized double getObservedKbps() {
+        return samples >= MIN_SAMPLES ? observedKbps : -1;
+    }
+    
+    /**
+     * Update from the default network's capabilities (connectivity callback)
+     */
+    public synchronized void onCapabilitiesChanged(NetworkCapabilities capabilities) {
+        if (capabilities == null) {
+            return;
+        }
+        metered = !capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED);
+        linkDownstreamKbps = capabilities.getLinkDownstreamBandwidthKbps();
+        updateProfile();
+    }
+    
+    /**
+     * Forget throughput measured on the previous network
+     */
+    public synchronized void onNetworkChanged() {
+        observedKbps = -1;
+        samples = 0;
+        updateProfile();
+    }
+    
+    @Override
+    public synchronized void onTransfer(long bytes, long durationMs) {
+        if (bytes < MIN_SAMPLE_BYTES || durationMs <= 0) {
+            return;
+        }
+        double kbps = bytes * 8.0 / durationMs; // bits per ms = kbit/s
+        observedKbps = observedKbps < 0 ? kbps : EWMA_ALPHA * kbps + (1 - EWMA_ALPHA) * observedKbps;
+        samples++;
+        updateProfile();
+    }
+    
+    private void updateProfile() {
+        double estimateKbps = samples >= MIN_SAMPLES ? observedKbps : linkDownstreamKbps;
+        
+        FetchProfile next;
+        if (estimateKbps > 0 && estimateKbps < SLOW_LINK_KBPS) {
+            next = FetchProfile.SLOW;
+        } else if (metered) {
+            next = FetchProfile.METERED;
+        } else {
+            next = FetchProfile.FULL;
+        }
+        
+        if (next != profile) {
+            android.util.Log.i(TAG, "Fetch profile " + profile + " -> " + next + " (" + (int) estimateKbps + " kbps, metered=" + metered + ")");
+            profile = next;
+        }
+    }
+}
+
@@ -0,0 +1,320 @@
+package com.example.booktalk.data.remote;
+
+import androidx.annotation.NonNull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * In-memory network telemetry: per-endpoint latency histograms, response sizes,
+ * status codes and retry counts, plus a lock-free ring of the most recent requests
+ * Fed by NetworkTelemetryInterceptor; cheap enough to stay on in release builds
+ */
+public class NetworkTelemetry {
+    
+    /**
+     * Request header set by retrying layers (0 = first attempt); stripped before sending
+     */
+    public static final String HEADER_ATTEMPT = "X-BookTalk-Attempt";
+    
+    // Latency bucket upper bounds in ms; the last bucket is open-ended
+    private static final long[] LATENCY_BUCKETS_MS = {50, 100, 200, 400, 800, 1600, 3200, 6400};
+    
+    private static final int RING_SIZE = 256; // power of two
+    
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<Event> ring = new AtomicReferenceArray<>(RING_SIZE);
+    private final AtomicLong ringCursor = new AtomicLong();
+    private volatile double bodySampleRate;
+    private volatile TransferListener transferListener;
+    
+    public NetworkTelemetry(double bodySampleRate) {
+        setBodySampleRate(bodySampleRate);
+    }
+    
+    /**
+     * Notified with the size and duration of each network response body once read
+     */
+    public interface TransferListener {
+        /**
+         * @param durationMs From the response headers until the body was fully read
+         *                   (time to first byte is left out: it measures latency, not bandwidth)
+         */
+        void onTransfer(long bytes, long durationMs);
+    }
+    
+    /**
+     * One recorded request
+     */
+    public static class Event {
+        private final String endpoint;
+        private final int statusCode; // -1 when the request failed with an exception
+        private final long latencyMs;
+        private final int attempt;
+        private final boolean fromCache;
+        private final long timestamp;
+        private final long recordedAtNanos; // response headers received (monotonic)
+        private final String sampledBody;
+        private volatile long responseBytes = -1;
+        
+        Event(String endpoint, int statusCode, long latencyMs, int attempt, boolean fromCache, String sampledBody) {
+            this.endpoint = endpoint;
+            this.statusCode = statusCode;
+            this.latencyMs = latencyMs;
+            this.attempt = attempt;
+            this.fromCache = fromCache;
+            this.sampledBody = sampledBody;
+            this.timestamp = System.currentTimeMillis();
+            this.recordedAtNanos = System.nanoTime();
+        }
+        
+        public String getEndpoint() {
+            return endpoint;
+        }
+        
+        public int getStatusCode() {
+            return statusCode;
+        }
+        
+        public long getLatencyMs() {
+            return latencyMs;
+        }
+        
+        public int getAttempt() {
+            return attempt;
+        }
+        
+        public boolean isFromCache() {
+            return fromCache;
+        }
+        
+        public long getTimestamp() {
+            return timestamp;
+        }
+        
+        /**
+         * Truncated response body, or null when this request was not sampled
+         */
+        public String getSampledBody() {
+            return sampledBody;
+        }
+        
+        /**
+         * Decoded body size in bytes, or -1 until the body has been read
+         */
+        public long getResponseBytes() {
+            return responseBytes;
+        }
+        
+        void setResponseBytes(long responseBytes) {
+            this.responseBytes = responseBytes;
+        }
+    }
+    
+    /**
+     * Aggregates for one endpoint
+     */
+    public static class EndpointStats {
+        private final AtomicLongArray latencyHistogram = new AtomicLongArray(LATENCY_BUCKETS_MS.length + 1);
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong retries = new AtomicLong();
+        private final AtomicLong cacheHits = new AtomicLong();
+        private final AtomicLong responseBytes = new AtomicLong();
+        private final AtomicLong sizedResponses = new AtomicLong();
+        private final Map<Integer, AtomicLong> statusCodes = new ConcurrentHashMap<>();
+        
+        public long getRequests() {
+            return requests.get();
+        }
+        
+        public long getFailures() {
+            return failures.get();
+        }
+        
+        public long getRetries() {
+            return retries.get();
+        }
+        
+        public long getCacheHits() {
+            return cacheHits.get();
+        }
+        
+        public long getTotalResponseBytes() {
+            return responseBytes.get();
+        }
+        
+        public long getAverageResponseBytes() {
+            long count = sizedResponses.get();
+            return count > 0 ? responseBytes.get() / count : 0;
+        }
+        
+        public long getStatusCount(int statusCode) {
+            AtomicLong count = statusCodes.get(statusCode);
+            return count != null ? count.get() : 0;
+        }
+        
+        /**
+         * Estimate a latency percentile (upper bound of the matching bucket)
+         * @param percentile Value between 0 and 1 (e.g. 0.9 for p90)
+         * @return Latency in ms, or -1 if nothing was recorded
+         */
+        public long getLatencyPercentileMs(double percentile) {
+            long total = 0;
+            for (int i = 0; i < latencyHistogram.length(); i++) {
+                total += latencyHistogram.get(i);
+            }
+            if (total == 0) {
+                return -1;
+            }
+            
+            long threshold = (long) Math.ceil(total * percentile);
+            long seen = 0;
+            for (int i = 0; i < latencyHistogram.length(); i++) {
+                seen += latencyHistogram.get(i);
+                if (seen >= threshold) {
+                    return i < LATENCY_BUCKETS_MS.length
+                            ? LATENCY_BUCKETS_MS[i]
+                            : LATENCY_BUCKETS_MS[LATENCY_BUCKETS_MS.length - 1] * 2;
+                }
+            }
+            return LATENCY_BUCKETS_MS[LATENCY_BUCKETS_MS.length - 1] * 2;
+        }
+        
+        @NonNull
+        @Override
+        public String toString() {
+            return "requests=" + getRequests() + ", failures=" + getFailures() +
+                    ", retries=" + getRetries() + ", cacheHits=" + getCacheHits() +
+                    ", p50=" + getLatencyPercentileMs(0.5) + "ms, p90=" + getLatencyPercentileMs(0.9) +
+                    "ms, avgBytes=" + getAverageResponseBytes() + ", status=" + statusCodes;
+        }
+    }
+    
+    /**
+     * Fraction of responses (0..1) whose body is sampled into the ring
+     */
+    public double getBodySampleRate() {
+        return bodySampleRate;
+    }
+    
+    public void setBodySampleRate(double bodySampleRate) {
+        this.bodySampleRate = Math.max(0.0, Math.min(1.0, bodySampleRate));
+    }
+    
+    public void setTransferListener(TransferListener transferListener) {
+        this.transferListener = transferListener;
+    }
+    
+    /**
+     * Get aggregates for an endpoint (see ApiEndpoints)
+     */
+    public EndpointStats getEndpointStats(String endpoint) {
+        EndpointStats stats = endpoints.get(endpoint);
+        if (stats == null) {
+            stats = endpoints.computeIfAbsent(endpoint, key -> new EndpointStats());
+        }
+        return stats;
+    }
+    
+    /**
+     * Get all endpoints seen so far
+     */
+    public List<String> getEndpoints() {
+        return new ArrayList<>(endpoints.keySet());
+    }
+    
+    /**
+     * Get the most recent events, oldest first
+     */
+    public List<Event> getRecentEvents() {
+        List<Event> events = new ArrayList<>();
+        long end = ringCursor.get();
+        long start = Math.max(0, end - RING_SIZE);
+        for (long i = start; i < end; i++) {
+            Event event = ring.get((int) (i & (RING_SIZE - 1)));
+            if (event != null) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+    
+    /**
+     * Record a completed request (called by the interceptor)
+     */
+    Event record(String endpoint, int statusCode, long latencyMs, int attempt, boolean fromCache, String sampledBody) {
+        EndpointStats stats = getEndpointStats(endpoint);
+        stats.requests.incrementAndGet();
+        if (attempt > 0) {
+            stats.retries.incrementAndGet();
+        }
+        
+        if (statusCode < 0) {
+            stats.failures.incrementAndGet();
+        } else {
+            AtomicLong statusCount = stats.statusCodes.get(statusCode);
+            if (statusCount == null) {
+                statusCount = stats.statusCodes.computeIfAbsent(statusCode, key -> new AtomicLong());
+            }
+            statusCount.incrementAndGet();
+        }
+        
+        // Cache hits never touch the network, keep them out of the latency histogram
+        if (fromCache) {
+            stats.cacheHits.incrementAndGet();
+        } else {
+            stats.latencyHistogram.incrementAndGet(bucketFor(latencyMs));
+        }
+        
+        Event event = new Event(endpoint, statusCode, latencyMs, attempt, fromCache, sampledBody);
+        long slot = ringCursor.getAndIncrement();
+        ring.set((int) (slot & (RING_SIZE - 1)), event);
+        return event;
+    }
+    
+    /**
+     * Record the body size once it has been read
+     */
+    void recordResponseBytes(Event event, long bytes) {
+        event.setResponseBytes(bytes);
+        EndpointStats stats = getEndpointStats(event.getEndpoint());
+        stats.responseBytes.addAndGet(bytes);
+        stats.sizedResponses.incrementAndGet();
+        
+        TransferListener listener = transferListener;
+        if (listener != null && !event.isFromCache()) {
+            // Body transfer only: headers in to last byte read (at least 1 ms when it was all buffered)
+            long durationMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - event.recordedAtNanos));
+            listener.onTransfer(bytes, durationMs);
+        }
+    }
+    
+    private static int bucketFor(long latencyMs) {
+        for (int i = 0; i < LATENCY_BUCKETS_MS.length; i++) {
+            if (latencyMs <= LATENCY_BUCKETS_MS[i]) {
+                return i;
+            }
+        }
+        return LATENCY_BUCKETS_MS.length;
+    }
+    
+    @NonNull
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, EndpointStats> entry : endpoints.entrySet()) {
+            if (builder.length() > 0) {
+                builder.append("; ");
+            }
+            builder.append(entry.getKey()).append(": ").append(entry.getValue());
+        }
+        return builder.toString();
+    }
+}
+
@@ -0,0 +1,143 @@
+package com.example.booktalk.data.remote;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.example.booktalk.BuildConfig;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Application interceptor that feeds NetworkTelemetry
+ * Replaces BODY logging: bodies are never buffered, except for the configured
+ * sample fraction, which is peeked (truncated) into the telemetry ring
+ */
+public class NetworkTelemetryInterceptor implements Interceptor {
+    private static final String TAG = "NetworkTelemetry";
+    private static final long MAX_SAMPLED_BODY_BYTES = 4 * 1024;
+    
+    private final NetworkTelemetry telemetry;
+    
+    public NetworkTelemetryInterceptor(NetworkTelemetry telemetry) {
+        this.telemetry = telemetry;
+    }
+    
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        String endpoint = ApiEndpoints.endpointOf(request.url());
+        
+        // Retrying layers tag attempts; the header is internal and never sent
+        int attempt = 0;
+        String attemptHeader = request.header(NetworkTelemetry.HEADER_ATTEMPT);
+        if (attemptHeader != null) {
+            try {
+                attempt = Integer.parseInt(attemptHeader);
+            } catch (NumberFormatException e) {
+                attempt = 0;
+            }
+            request = request.newBuilder().removeHeader(NetworkTelemetry.HEADER_ATTEMPT).build();
+        }
+        
+        long startNs = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            long latencyMs = (System.nanoTime() - startNs) / 1_000_000;
+            telemetry.record(endpoint, -1, latencyMs, attempt, false, null);
+            throw e;
+        }
+        long latencyMs = (System.nanoTime() - startNs) / 1_000_000;
+        
+        boolean fromCache = response.networkResponse() == null && response.cacheResponse() != null;
+        
+        String sampledBody = null;
+        if (ThreadLocalRandom.current().nextDouble() < telemetry.getBodySampleRate()) {
+            sampledBody = response.peekBody(MAX_SAMPLED_BODY_BYTES).string();
+            if (BuildConfig.DEBUG) {
+                android.util.Log.d(TAG, response.code() + " " + request.url().encodedPath() + " (" + latencyMs + " ms): " + sampledBody);
+            }
+        }
+        
+        NetworkTelemetry.Event event = telemetry.record(endpoint, response.code(), latencyMs, attempt, fromCache, sampledBody);
+        
+        ResponseBody body = response.body();
+        if (body == null) {
+            return response;
+        }
+        return response.newBuilder()
+                .body(new CountingResponseBody(body, event))
+                .build();
+    }
+    
+    /**
+     * Counts decoded body bytes as the caller reads them (no buffering)
+     */
+    private class CountingResponseBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final NetworkTelemetry.Event event;
+        private final AtomicBoolean recorded = new AtomicBoolean();
+        private BufferedSource bufferedSource;
+        private long bytesRead;
+        
+        CountingResponseBody(ResponseBody delegate, NetworkTelemetry.Event event) {
+            this.delegate = delegate;
+            this.event = event;
+        }
+        
+        @Nullable
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+        
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+        
+        @NonNull
+        @Override
+        public BufferedSource source() {
+            if (bufferedSource == null) {
+                bufferedSource = Okio.buffer(new ForwardingSource(delegate.source()) {
+                    @Override
+                    public long read(@NonNull Buffer sink, long byteCount) throws IOException {
+                        long read = super.read(sink, byteCount);
+                        if (read == -1) {
+                            recordOnce();
+                        } else {
+                            bytesRead += read;
+                        }
+                        return read;
+                    }
+                    
+                    @Override
+                    public void close() throws IOException {
+                        recordOnce();
+                        super.close();
+                    }
+                });
+            }
+            return bufferedSource;
+        }
+        
+        private void recordOnce() {
+            if (recorded.compareAndSet(false, true)) {
+                telemetry.recordResponseBytes(event, bytesRead);
+            }
+        }
+    }
+}
+
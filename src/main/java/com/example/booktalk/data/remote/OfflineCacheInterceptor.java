@@ -0,0 +1,39 @@
+package com.example.booktalk.data.remote;
+
+import androidx.annotation.NonNull;
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import java.io.IOException;
+
+/**
+ * Application interceptor for forced-stale (offline) mode
+ * When enabled, GET requests are answered only from the disk cache, however old;
+ * a cache miss returns 504 instead of waiting on the network
+ */
+public class OfflineCacheInterceptor implements Interceptor {
+    
+    private volatile boolean forceStale;
+    
+    public boolean isForceStale() {
+        return forceStale;
+    }
+    
+    public void setForceStale(boolean forceStale) {
+        this.forceStale = forceStale;
+    }
+    
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        if (forceStale && "GET".equals(request.method())) {
+            request = request.newBuilder()
+                    .cacheControl(CacheControl.FORCE_CACHE)
+                    .build();
+        }
+        return chain.proceed(request);
+    }
+}
+
@@ -16,6 +16,30 @@ public class QueryBuilder {
     public static final String DEFAULT_PRINT_TYPE = "books";
     public static final String DEFAULT_ORDER_BY = "relevance";
     
+    // Projections supported by the API
+    public static final String PROJECTION_FULL = "full";
+    public static final String PROJECTION_LITE = "lite";
+    
+    // Partial-response field selectors (only what BookMapper reads)
+    private static final String VOLUME_INFO_LIST_FIELDS =
+            "title,authors,description,imageLinks(smallThumbnail,thumbnail),publishedDate,ratingsCount,averageRating";
+    
+    /**
+     * Fields for list calls (search and home categories)
+     * Description stays in: enrichment only calls the detail API when it is missing
+     */
+    public static final String FIELDS_LIST = "totalItems,items(id,volumeInfo(" + VOLUME_INFO_LIST_FIELDS + "))";
+    
+    /**
+     * Fields for detail calls made only to fill in a missing description
+     */
+    public static final String FIELDS_DESCRIPTION = "id,volumeInfo/description";
+    
+    /**
+     * Fields for detail calls that build a full Book (detail page)
+     */
+    public static final String FIELDS_DETAIL = "id,volumeInfo(" + VOLUME_INFO_LIST_FIELDS + ")";
+    
     /**
      * Build query for home category
      * @param categoryQueryHint Subject query (e.g., "subject:romance")
@@ -69,6 +93,32 @@ public class QueryBuilder {
         return "intitle:\"" + escaped + "\"";
     }
     
+    /**
+     * Build ISBN search query
+     * @param isbn ISBN-10 or ISBN-13, digits only (X allowed as ISBN-10 check digit)
+     * @return Formatted query string with isbn: operator
+     */
+    public static String buildSearchIsbnQuery(String isbn) {
+        if (isbn == null || isbn.trim().isEmpty()) {
+            return "";
+        }
+        return "isbn:" + isbn.trim();
+    }
+    
+    /**
+     * Build author search query using inauthor: operator
+     * @param authorName Author name as the user typed it (or as stored)
+     * @return Formatted query string with inauthor: operator
+     */
+    public static String buildSearchAuthorQuery(String authorName) {
+        if (authorName == null || authorName.trim().isEmpty()) {
+            return "";
+        }
+        
+        String escaped = authorName.trim().replace("\"", "\\\"");
+        return "inauthor:\"" + escaped + "\"";
+    }
+    
     /**
      * Build fallback search query (less strict, uses raw text)
      * Used when primary query returns too few results
@@ -98,6 +148,21 @@ public class QueryBuilder {
         return DEFAULT_MAX_RESULTS;
     }
     
+    /**
+     * Get maxResults for list calls under the current fetch profile
+     * (DEFAULT_MAX_RESULTS on a good link, fewer on slow or metered ones)
+     */
+    public static int getMaxResults() {
+        return getFetchProfile().getPageSize();
+    }
+    
+    /**
+     * Get the fetch profile for the current network
+     */
+    public static FetchProfile getFetchProfile() {
+        return RetrofitClient.getInstance().getNetworkQuality().getProfile();
+    }
+    
     /**
      * Get default print type
      */
@@ -112,6 +177,36 @@ public class QueryBuilder {
         return DEFAULT_ORDER_BY;
     }
     
+    /**
+     * Get fields for list calls (searchBooks)
+     */
+    public static String getListFields() {
+        return FIELDS_LIST;
+    }
+    
+    /**
+     * Get fields for description-only detail calls (enrichment)
+     */
+    public static String getDescriptionFields() {
+        return FIELDS_DESCRIPTION;
+    }
+    
+    /**
+     * Get fields for full detail calls (detail page)
+     */
+    public static String getDetailFields() {
+        return FIELDS_DETAIL;
+    }
+    
+    /**
+     * Get default projection
+     * Null keeps the API default: fields= already trims the payload, and lite
+     * does not guarantee the description that the completeness filter needs
+     */
+    public static String getDefaultProjection() {
+        return null;
+    }
+    
     /**
      * Get default country
      */
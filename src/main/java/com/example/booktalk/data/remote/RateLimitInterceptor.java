@@ -0,0 +1,114 @@
+package com.example.booktalk.data.remote;
+
+import androidx.annotation.NonNull;
+import com.example.booktalk.util.TaskScheduler;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import java.io.IOException;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Application interceptor that applies the shared token bucket and retries
+ * 429 (quota) and 503 (overloaded) responses
+ * Retry-After is honored when present; otherwise jittered exponential backoff.
+ * The delay is applied to the whole bucket so every queued request backs off.
+ * Calls made from background tasks (TaskScheduler lane) yield tokens to user-facing ones
+ */
+public class RateLimitInterceptor implements Interceptor {
+    private static final String TAG = "RateLimitInterceptor";
+    private static final int MAX_RETRIES = 3;
+    private static final long BASE_BACKOFF_MS = 1000;
+    private static final long MAX_BACKOFF_MS = 30_000;
+    
+    private final TokenBucketRateLimiter rateLimiter;
+    
+    public RateLimitInterceptor(TokenBucketRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+    
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        
+        // Cache-only requests (offline mode) never reach the network
+        if (request.cacheControl().onlyIfCached()) {
+            return chain.proceed(request);
+        }
+        
+        // Outer layers (circuit breaker retries) may already have tagged the attempt
+        int baseAttempt = 0;
+        String attemptHeader = request.header(NetworkTelemetry.HEADER_ATTEMPT);
+        if (attemptHeader != null) {
+            try {
+                baseAttempt = Integer.parseInt(attemptHeader);
+            } catch (NumberFormatException e) {
+                baseAttempt = 0;
+            }
+        }
+        
+        // Synchronous calls run interceptors on the caller's thread, which carries the task priority
+        boolean background = TaskScheduler.currentPriority() == TaskScheduler.Priority.BACKGROUND;
+        
+        int attempt = 0;
+        while (true) {
+            if (background) {
+                rateLimiter.acquireBackground();
+            } else {
+                rateLimiter.acquire();
+            }
+            Request attemptRequest = request.newBuilder()
+                    .header(NetworkTelemetry.HEADER_ATTEMPT, String.valueOf(baseAttempt + attempt))
+                    .build();
+            Response response = chain.proceed(attemptRequest);
+            
+            int code = response.code();
+            if ((code != 429 && code != 503) || attempt >= MAX_RETRIES) {
+                return response;
+            }
+            
+            long delayMs = retryAfterMs(response);
+            if (delayMs < 0) {
+                delayMs = backoffMs(attempt);
+            }
+            android.util.Log.w(TAG, "HTTP " + code + " for " + request.url().encodedPath() + ", retrying in " + delayMs + " ms");
+            
+            response.close();
+            rateLimiter.pauseFor(delayMs);
+            attempt++;
+        }
+    }
+    
+    /**
+     * Exponential backoff with jitter: random delay in [ceiling / 2, ceiling], ceiling = base * 2^attempt
+     */
+    private long backoffMs(int attempt) {
+        long ceiling = Math.min(MAX_BACKOFF_MS, BASE_BACKOFF_MS << attempt);
+        return ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+    }
+    
+    /**
+     * Parse Retry-After (delay-seconds or HTTP-date), or -1 if absent/invalid
+     */
+    private long retryAfterMs(Response response) {
+        String retryAfter = response.header("Retry-After");
+        if (retryAfter == null) {
+            return -1;
+        }
+        
+        try {
+            long seconds = Long.parseLong(retryAfter.trim());
+            return Math.min(MAX_BACKOFF_MS, Math.max(0, seconds * 1000));
+        } catch (NumberFormatException e) {
+            Date date = response.headers().getDate("Retry-After");
+            if (date == null) {
+                return -1;
+            }
+            long delay = date.getTime() - System.currentTimeMillis();
+            return Math.min(MAX_BACKOFF_MS, Math.max(0, delay));
+        }
+    }
+}
+
@@ -1,45 +1,130 @@
 package com.example.booktalk.data.remote;
 
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import androidx.annotation.NonNull;
 import com.example.booktalk.BuildConfig;
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dns;
+import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Retrofit client singleton
  */
 public class RetrofitClient {
+    private static final String HTTP_CACHE_DIR = "http_cache";
+    private static final long HTTP_CACHE_SIZE = 20L * 1024 * 1024; // 20 MB
+    private static final double DEFAULT_BODY_SAMPLE_RATE = 0.01; // 1% of responses
+    private static final double RATE_LIMIT_BURST = 10;
+    private static final double RATE_LIMIT_PER_SECOND = 5;
+    private static final double RATE_LIMIT_BACKGROUND_RESERVE = 3; // tokens kept for user-facing calls
+    private static final int MAX_IDLE_CONNECTIONS = 5;
+    private static final long KEEP_ALIVE_MINUTES = 5;
+    private static final long DNS_TTL_MINUTES = 5;
+    private static final int DETAIL_CALLS_PER_MINUTE = 60;
+    private static final int DETAIL_CALLS_PER_DAY = 1000;
+    private static final double BACKGROUND_DETAIL_SHARE = 0.5;
+    
     private static RetrofitClient instance;
+    private String baseUrl;
     private BooksApiService apiService;
+    private OkHttpClient client;
+    private CachingDns dns;
+    private HttpCacheStats cacheStats;
+    private OfflineCacheInterceptor offlineCacheInterceptor;
+    private NetworkTelemetry telemetry;
+    private CoalescingCallAdapterFactory coalescingFactory;
+    private TokenBucketRateLimiter rateLimiter;
+    private HedgedCallExecutor searchHedger;
+    private CircuitBreaker circuitBreaker;
+    private EnrichmentBudget enrichmentBudget;
+    private NetworkQualityMonitor networkQuality;
+    private ConnectivityManager connectivityManager;
     
-    private RetrofitClient() {
-        // Setup logging interceptor
-        HttpLoggingInterceptor logging = new HttpLoggingInterceptor();
-        logging.setLevel(HttpLoggingInterceptor.Level.BODY);
+    private RetrofitClient(Context context, String baseUrl) {
+        this.baseUrl = baseUrl;
+        cacheStats = new HttpCacheStats();
+        offlineCacheInterceptor = new OfflineCacheInterceptor();
+        telemetry = new NetworkTelemetry(DEFAULT_BODY_SAMPLE_RATE);
+        networkQuality = new NetworkQualityMonitor();
+        telemetry.setTransferListener(networkQuality);
+        coalescingFactory = new CoalescingCallAdapterFactory();
+        rateLimiter = new TokenBucketRateLimiter(RATE_LIMIT_BURST, RATE_LIMIT_PER_SECOND, RATE_LIMIT_BACKGROUND_RESERVE);
+        searchHedger = new HedgedCallExecutor();
+        circuitBreaker = new CircuitBreaker();
+        enrichmentBudget = new EnrichmentBudget(DETAIL_CALLS_PER_MINUTE, DETAIL_CALLS_PER_DAY, BACKGROUND_DETAIL_SHARE);
+        dns = new CachingDns(Dns.SYSTEM, DNS_TTL_MINUTES, TimeUnit.MINUTES);
         
-        // Setup OkHttp client
-        OkHttpClient client = new OkHttpClient.Builder()
-                .addInterceptor(logging)
-                .connectTimeout(30, TimeUnit.SECONDS)
+        // Setup OkHttp client (circuit breaker fails fast before queueing on the rate limiter;
+        // both sit before telemetry so each retry is recorded as its own attempt)
+        OkHttpClient.Builder clientBuilder = new OkHttpClient.Builder()
+                .addInterceptor(offlineCacheInterceptor)
+                .addInterceptor(new CircuitBreakerInterceptor(circuitBreaker))
+                .addInterceptor(new RateLimitInterceptor(rateLimiter))
+                .addInterceptor(new NetworkTelemetryInterceptor(telemetry))
+                .addNetworkInterceptor(new RevalidatingCacheInterceptor())
+                .eventListenerFactory(cacheStats.listenerFactory())
+                // One pool for all repositories; HTTP/2 multiplexes concurrent calls over one connection
+                .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .dns(dns)
+                .connectTimeout(10, TimeUnit.SECONDS)
                 .readTimeout(30, TimeUnit.SECONDS)
-                .writeTimeout(30, TimeUnit.SECONDS)
-                .build();
+                .writeTimeout(30, TimeUnit.SECONDS);
+        
+        // Disk cache needs a context; without one (not initialized yet) requests go straight to the network
+        if (context != null) {
+            File cacheDir = new File(context.getCacheDir(), HTTP_CACHE_DIR);
+            clientBuilder.cache(new Cache(cacheDir, HTTP_CACHE_SIZE));
+            registerConnectivityCallback(context);
+        }
+        client = clientBuilder.build();
         
         // Setup Retrofit
         Retrofit retrofit = new Retrofit.Builder()
-                .baseUrl(BooksApiService.BASE_URL)
+                .baseUrl(baseUrl)
                 .client(client)
+                .addCallAdapterFactory(coalescingFactory)
+                .addConverterFactory(new StreamingBookConverterFactory())
                 .addConverterFactory(GsonConverterFactory.create())
                 .build();
         
         apiService = retrofit.create(BooksApiService.class);
     }
     
+    /**
+     * Initialize the client with an HTTP disk cache (call once at app start, before any repository)
+     */
+    public static synchronized void init(Context context) {
+        if (instance == null) {
+            instance = new RetrofitClient(context.getApplicationContext(), BooksApiService.BASE_URL);
+        }
+    }
+    
+    /**
+     * Replace the client with one pointing at another server, without disk cache (tests, replay fixtures)
+     * Repositories created afterwards use it; existing ones keep the old service
+     */
+    public static synchronized void overrideBaseUrl(String baseUrl) {
+        instance = new RetrofitClient(null, baseUrl);
+    }
+    
     public static synchronized RetrofitClient getInstance() {
         if (instance == null) {
-            instance = new RetrofitClient();
+            instance = new RetrofitClient(null, BooksApiService.BASE_URL);
         }
         return instance;
     }
@@ -48,8 +133,162 @@ public class RetrofitClient {
         return apiService;
     }
     
+    /**
+     * Get per-endpoint cache hit/miss/revalidation counters
+     */
+    public HttpCacheStats getCacheStats() {
+        return cacheStats;
+    }
+    
+    /**
+     * Get per-endpoint latency, size, status and retry telemetry
+     */
+    public NetworkTelemetry getTelemetry() {
+        return telemetry;
+    }
+    
+    /**
+     * Get single-flight counters (calls executed vs. calls saved by coalescing)
+     */
+    public CoalescingCallAdapterFactory getCoalescingStats() {
+        return coalescingFactory;
+    }
+    
+    /**
+     * Get the token bucket shared by all repositories
+     */
+    public TokenBucketRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+    
+    /**
+     * Get the hedging executor for search calls (learns its own latency window)
+     */
+    public HedgedCallExecutor getSearchHedger() {
+        return searchHedger;
+    }
+    
+    /**
+     * Get the circuit breaker shared by all repositories (skip optional calls while it is open)
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+    
+    /**
+     * Get the detail-call budget shared by all enrichment (search, categories, detail page)
+     */
+    public EnrichmentBudget getEnrichmentBudget() {
+        return enrichmentBudget;
+    }
+    
+    /**
+     * Get the monitor that picks the fetch profile (page size, enrichment depth, cover size)
+     */
+    public NetworkQualityMonitor getNetworkQuality() {
+        return networkQuality;
+    }
+    
+    /**
+     * Serve GET requests only from the disk cache (offline use)
+     * Toggled automatically when the default network is lost or regained
+     */
+    public void setForceStale(boolean forceStale) {
+        offlineCacheInterceptor.setForceStale(forceStale);
+    }
+    
+    public boolean isForceStale() {
+        return offlineCacheInterceptor.isForceStale();
+    }
+    
+    /**
+     * Whether the default network can reach the internet right now
+     * Lets callers skip the network entirely instead of waiting for timeouts;
+     * true when connectivity is unknown (no context)
+     */
+    public boolean isOnline() {
+        if (connectivityManager == null) {
+            return true;
+        }
+        Network network = connectivityManager.getActiveNetwork();
+        if (network == null) {
+            return false;
+        }
+        NetworkCapabilities capabilities = connectivityManager.getNetworkCapabilities(network);
+        return capabilities != null && capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET);
+    }
+    
+    /**
+     * Resolve the API host and open a connection to it so the first real call skips DNS, TCP and TLS
+     * Blocking; call off the main thread
+     */
+    public void warmUp() {
+        if (isForceStale()) {
+            return;
+        }
+        
+        HttpUrl apiUrl = HttpUrl.get(baseUrl);
+        long startTime = System.currentTimeMillis();
+        
+        // Same pool and DNS, but no cache, rate limiting or telemetry for this request
+        OkHttpClient.Builder warmUpBuilder = client.newBuilder().cache(null);
+        warmUpBuilder.interceptors().clear();
+        warmUpBuilder.networkInterceptors().clear();
+        OkHttpClient warmUpClient = warmUpBuilder.build();
+        
+        Request request = new Request.Builder()
+                .url(apiUrl)
+                .head()
+                .build();
+        
+        try {
+            dns.lookup(apiUrl.host());
+            try (Response response = warmUpClient.newCall(request).execute()) {
+                android.util.Log.d("RetrofitClient", "Warmed up " + apiUrl.host() + " (" + response.protocol() + ") in " +
+                        (System.currentTimeMillis() - startTime) + " ms");
+            }
+        } catch (IOException e) {
+            android.util.Log.w("RetrofitClient", "Warm-up failed: " + e.getMessage());
+        }
+    }
+    
     public static String getApiKey() {
         return BuildConfig.GOOGLE_BOOKS_API_KEY;
     }
+    
+    /**
+     * Switch forced-stale mode and the fetch profile with the default network
+     */
+    private void registerConnectivityCallback(Context context) {
+        connectivityManager = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        if (connectivityManager == null) {
+            return;
+        }
+        
+        Network activeNetwork = connectivityManager.getActiveNetwork();
+        offlineCacheInterceptor.setForceStale(activeNetwork == null);
+        if (activeNetwork != null) {
+            networkQuality.onCapabilitiesChanged(connectivityManager.getNetworkCapabilities(activeNetwork));
+        }
+        connectivityManager.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+            @Override
+            public void onAvailable(@NonNull Network network) {
+                // Addresses resolved on the previous network may not be the best ones here
+                dns.clear();
+                networkQuality.onNetworkChanged();
+                offlineCacheInterceptor.setForceStale(false);
+            }
+            
+            @Override
+            public void onCapabilitiesChanged(@NonNull Network network, @NonNull NetworkCapabilities capabilities) {
+                networkQuality.onCapabilitiesChanged(capabilities);
+            }
+            
+            @Override
+            public void onLost(@NonNull Network network) {
+                offlineCacheInterceptor.setForceStale(true);
+            }
+        });
+    }
 }
 
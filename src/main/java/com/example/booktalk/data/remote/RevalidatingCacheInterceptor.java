@@ -0,0 +1,44 @@
+package com.example.booktalk.data.remote;
+
+import androidx.annotation.NonNull;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import java.io.IOException;
+
+/**
+ * Network interceptor that makes Google Books responses storable and revalidatable
+ * The API answers with "private, max-age=0, must-revalidate" (or no-cache), which
+ * either skips the disk cache or blocks stale reads in offline mode. Responses that
+ * carry an ETag or Last-Modified validator are rewritten to "private, max-age=0":
+ * every online read still revalidates with a conditional request, and a 304 reuses
+ * the cached body instead of downloading it again
+ */
+public class RevalidatingCacheInterceptor implements Interceptor {
+    
+    private static final String CACHE_CONTROL_REVALIDATE = "private, max-age=0";
+    
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+        
+        if (!"GET".equals(request.method())) {
+            return response;
+        }
+        
+        // A 304 refreshes the stored headers, so it must be rewritten as well
+        boolean notModified = response.code() == 304;
+        boolean hasValidator = response.header("ETag") != null || response.header("Last-Modified") != null;
+        if (!notModified && !(response.isSuccessful() && hasValidator)) {
+            return response;
+        }
+        
+        return response.newBuilder()
+                .removeHeader("Pragma")
+                .header("Cache-Control", CACHE_CONTROL_REVALIDATE)
+                .build();
+    }
+}
+
@@ -0,0 +1,32 @@
+package com.example.booktalk.data.remote;
+
+import androidx.annotation.NonNull;
+import com.google.gson.stream.JsonReader;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * Retrofit converter for BookPage responses using StreamingBookDecoder
+ * Registered before the Gson converter; every other type still goes through Gson
+ */
+public class StreamingBookConverterFactory extends Converter.Factory {
+    
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(@NonNull Type type, @NonNull Annotation[] annotations, @NonNull Retrofit retrofit) {
+        if (type != BookPage.class) {
+            return null;
+        }
+        
+        return (Converter<ResponseBody, BookPage>) body -> {
+            try (JsonReader reader = new JsonReader(body.charStream())) {
+                return StreamingBookDecoder.decodePage(reader, true);
+            } finally {
+                body.close();
+            }
+        };
+    }
+}
+
@@ -0,0 +1,224 @@
+package com.example.booktalk.data.remote;
+
+import com.example.booktalk.data.model.Book;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming, reflection-free decoder for Google Books search responses
+ * Reads the response with JsonReader and builds Book models directly (no
+ * BooksResponse/VolumeItem/VolumeInfo/ImageLinks tree). Unknown subtrees such as
+ * saleInfo and accessInfo are skipped without being materialized, and items
+ * missing title, author or cover are dropped while parsing
+ * Mapping matches BookMapper.toBook
+ */
+public class StreamingBookDecoder {
+    
+    /**
+     * Decode a volumes list response
+     * @param reader Reader positioned at the start of the response object
+     * @param requireBasicFields Drop items without title, author or cover thumbnail
+     */
+    public static BookPage decodePage(JsonReader reader, boolean requireBasicFields) throws IOException {
+        BookPage page = new BookPage();
+        List<Book> books = new ArrayList<>();
+        int itemCount = 0;
+        
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("totalItems") && reader.peek() == JsonToken.NUMBER) {
+                page.setTotalItems(reader.nextInt());
+            } else if (name.equals("items") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    itemCount++;
+                    Book book = decodeItem(reader, requireBasicFields);
+                    if (book != null) {
+                        books.add(book);
+                    }
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        
+        page.setBooks(books);
+        page.setItemCount(itemCount);
+        return page;
+    }
+    
+    /**
+     * Decode one volume item, or return null if it is rejected
+     */
+    private static Book decodeItem(JsonReader reader, boolean requireBasicFields) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+        
+        String id = null;
+        VolumeFields fields = null;
+        
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("id") && reader.peek() == JsonToken.STRING) {
+                id = reader.nextString();
+            } else if (name.equals("volumeInfo") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                fields = decodeVolumeInfo(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        
+        if (fields == null) {
+            return null;
+        }
+        
+        String title = fields.title != null ? fields.title : "Unknown Title";
+        String author = fields.authors != null ? fields.authors : "Unknown Author";
+        String coverUrl = fields.thumbnail != null ? fields.thumbnail : fields.smallThumbnail;
+        if (coverUrl != null && coverUrl.startsWith("http://")) {
+            coverUrl = coverUrl.replace("http://", "https://");
+        }
+        
+        // Cheap checks while parsing, like the repositories' old basic filter except that a missing
+        // title is rejected here (the old filter only saw the "Unknown Title" placeholder and kept it)
+        if (requireBasicFields) {
+            if (fields.title == null || fields.title.trim().isEmpty()) {
+                return null;
+            }
+            if (fields.authors == null || fields.authors.trim().isEmpty()) {
+                return null;
+            }
+            if (coverUrl == null || coverUrl.trim().isEmpty()) {
+                return null;
+            }
+        }
+        
+        Book book = new Book(id, title, author, coverUrl, fields.description);
+        book.setPublishedDate(fields.publishedDate);
+        book.setRatingsCount(fields.ratingsCount);
+        book.setAverageRating(fields.averageRating);
+        return book;
+    }
+
+    private static VolumeFields decodeVolumeInfo(JsonReader reader) throws IOException {
+        VolumeFields fields = new VolumeFields();
+        
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            switch (name) {
+                case "title":
+                    fields.title = nextStringOrNull(reader);
+                    break;
+                case "authors":
+                    fields.authors = nextJoinedStringsOrNull(reader);
+                    break;
+                case "description":
+                    fields.description = nextStringOrNull(reader);
+                    break;
+                case "publishedDate":
+                    fields.publishedDate = nextStringOrNull(reader);
+                    break;
+                case "ratingsCount":
+                    if (reader.peek() == JsonToken.NUMBER) {
+                        fields.ratingsCount = reader.nextInt();
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+                case "averageRating":
+                    if (reader.peek() == JsonToken.NUMBER) {
+                        fields.averageRating = reader.nextDouble();
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+                case "imageLinks":
+                    decodeImageLinks(reader, fields);
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return fields;
+    }
+
+    private static void decodeImageLinks(JsonReader reader, VolumeFields fields) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return;
+        }
+        
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("thumbnail")) {
+                fields.thumbnail = nextStringOrNull(reader);
+            } else if (name.equals("smallThumbnail")) {
+                fields.smallThumbnail = nextStringOrNull(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private static String nextStringOrNull(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.STRING) {
+            return reader.nextString();
+        }
+        reader.skipValue();
+        return null;
+    }
+
+    /**
+     * Read a string array joined with ", " (null if missing or empty)
+     */
+    private static String nextJoinedStringsOrNull(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+            reader.skipValue();
+            return null;
+        }
+        
+        StringBuilder joined = new StringBuilder();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String value = nextStringOrNull(reader);
+            if (value != null) {
+                if (joined.length() > 0) {
+                    joined.append(", ");
+                }
+                joined.append(value);
+            }
+        }
+        reader.endArray();
+        return joined.length() > 0 ? joined.toString() : null;
+    }
+
+    /**
+     * Scratch holder for volumeInfo fields of the item being decoded
+     */
+    private static class VolumeFields {
+        String title;
+        String authors;
+        String description;
+        String publishedDate;
+        Integer ratingsCount;
+        Double averageRating;
+        String thumbnail;
+        String smallThumbnail;
+    }
+}
+
@@ -0,0 +1,147 @@
+package com.example.booktalk.data.remote;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket rate limiter shared by every repository (via RetrofitClient)
+ * Callers queue instead of failing: acquire() reserves the next token and sleeps
+ * until it is due, so bursts are smoothed out to the configured rate.
+ * A server-requested pause (Retry-After / backoff) delays every later caller too.
+ * Background callers leave a reserve of tokens untouched, so prefetch never queues
+ * in front of a request the user is waiting for
+ */
+public class TokenBucketRateLimiter {
+    
+    private final double capacity;
+    private final double tokensPerSecond;
+    private final double backgroundReserve;
+    
+    private double tokens;
+    private long lastRefillNanos;
+    private long pausedUntilNanos;
+    
+    /**
+     * @param capacity Burst size (tokens available after an idle period)
+     * @param tokensPerSecond Sustained request rate
+     */
+    public TokenBucketRateLimiter(double capacity, double tokensPerSecond) {
+        this(capacity, tokensPerSecond, 0);
+    }
+    
+    /**
+     * @param capacity Burst size (tokens available after an idle period)
+     * @param tokensPerSecond Sustained request rate
+     * @param backgroundReserve Tokens background callers must leave for foreground ones
+     */
+    public TokenBucketRateLimiter(double capacity, double tokensPerSecond, double backgroundReserve) {
+        this.capacity = capacity;
+        this.tokensPerSecond = tokensPerSecond;
+        this.backgroundReserve = Math.min(backgroundReserve, capacity - 1);
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+        this.pausedUntilNanos = lastRefillNanos;
+    }
+    
+    /**
+     * Block until a token is available
+     */
+    public void acquire() throws InterruptedIOException {
+        long waitNanos = reserve();
+        while (waitNanos > 0) {
+            sleep(waitNanos);
+            // A pause may have been requested while we were sleeping
+            waitNanos = remainingPauseNanos();
+        }
+    }
+    
+    /**
+     * Block until a token is available without dipping into the foreground reserve
+     * Waits while foreground callers are queued (tokens in debt) or the bucket is nearly empty
+     */
+    public void acquireBackground() throws InterruptedIOException {
+        long waitNanos = tryReserveBackground();
+        while (waitNanos > 0) {
+            sleep(waitNanos);
+            waitNanos = tryReserveBackground();
+        }
+    }
+    
+    /**
+     * Hold back all callers for the given duration (e.g. after a 429 with Retry-After)
+     */
+    public synchronized void pauseFor(long durationMs) {
+        long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(durationMs);
+        if (until - pausedUntilNanos > 0) {
+            pausedUntilNanos = until;
+        }
+    }
+    
+    /**
+     * Tokens currently available (negative when callers are queued)
+     */
+    public synchronized double getAvailableTokens() {
+        refill(System.nanoTime());
+        return tokens;
+    }
+    
+    /**
+     * Take one token (possibly going into debt) and return how long the caller must wait
+     */
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        long start = pausedUntilNanos - now > 0 ? pausedUntilNanos : now;
+        refill(start);
+        
+        tokens -= 1;
+        long waitNanos = start - now;
+        if (tokens < 0) {
+            waitNanos += (long) (-tokens / tokensPerSecond * TimeUnit.SECONDS.toNanos(1));
+        }
+        return waitNanos;
+    }
+    
+    /**
+     * Take one token if that leaves the background reserve intact and return 0,
+     * otherwise take nothing and return how long until it would
+     * Check and take happen under one lock so concurrent background callers can't
+     * all pass the check and then drain the reserve together
+     */
+    private synchronized long tryReserveBackground() {
+        long now = System.nanoTime();
+        long remainingPause = pausedUntilNanos - now;
+        if (remainingPause > 0) {
+            return remainingPause;
+        }
+        refill(now);
+        double shortfall = backgroundReserve + 1 - tokens;
+        if (shortfall <= 0) {
+            tokens -= 1;
+            return 0;
+        }
+        return Math.max(1, (long) (shortfall / tokensPerSecond * TimeUnit.SECONDS.toNanos(1)));
+    }
+    
+    private synchronized long remainingPauseNanos() {
+        long remaining = pausedUntilNanos - System.nanoTime();
+        return Math.max(0, remaining);
+    }
+    
+    private static void sleep(long nanos) throws InterruptedIOException {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for rate limiter");
+        }
+    }
+    
+    private void refill(long atNanos) {
+        long elapsed = atNanos - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * tokensPerSecond / TimeUnit.SECONDS.toNanos(1));
+            lastRefillNanos = atNanos;
+        }
+    }
+}
+
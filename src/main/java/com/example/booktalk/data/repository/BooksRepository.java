@@ -10,11 +10,10 @@ import com.example.booktalk.data.remote.BookMapper;
 import com.example.booktalk.data.remote.RetrofitClient;
 import com.example.booktalk.data.remote.BooksApiService;
 import com.example.booktalk.data.remote.VolumeResponse;
+import com.example.booktalk.util.TaskScheduler;
 import retrofit2.Call;
 import retrofit2.Response;
 import java.io.IOException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * Repository for book operations
@@ -23,7 +22,7 @@ public class BooksRepository {
     private AppDbHelper dbHelper;
     private BookDao bookDao;
     private BooksApiService apiService;
-    private ExecutorService executorService;
+    private TaskScheduler.SerialQueue taskQueue;
     private Handler mainHandler;
     
     public interface BookCallback {
@@ -36,7 +35,7 @@ public class BooksRepository {
         SQLiteDatabase db = dbHelper.getWritableDatabase();
         this.bookDao = new BookDao(db);
         this.apiService = RetrofitClient.getInstance().getApiService();
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.taskQueue = TaskScheduler.getInstance().newSerialQueue();
         this.mainHandler = new Handler(Looper.getMainLooper());
     }
     
@@ -44,7 +43,7 @@ public class BooksRepository {
      * Get book by ID (offline-first: check cache first, then API if description missing) - ASYNC
      */
     public void getBookByIdAsync(String bookId, BookCallback callback) {
-        executorService.execute(() -> {
+        taskQueue.execute(TaskScheduler.Priority.USER_BLOCKING, () -> {
             // Always read from cache first
             Book book = bookDao.getBookById(bookId);
             
@@ -75,13 +74,17 @@ public class BooksRepository {
      * Fetch book details from API (async)
      */
     private void fetchBookDetailsAsync(String bookId, BookCallback callback) {
-        executorService.execute(() -> {
+        taskQueue.execute(TaskScheduler.Priority.USER_BLOCKING, () -> {
             try {
                             Call<VolumeResponse> call = apiService.getBookDetails(
                                 bookId, 
                                 com.example.booktalk.data.remote.QueryBuilder.getDefaultCountry(), 
+                                com.example.booktalk.data.remote.QueryBuilder.getDetailFields(),
+                                com.example.booktalk.data.remote.QueryBuilder.getDefaultProjection(),
                                 RetrofitClient.getApiKey()
                             );
+                // The user is waiting on this one: never refused, but counted against the shared budget
+                RetrofitClient.getInstance().getEnrichmentBudget().consume();
                 Response<VolumeResponse> response = call.execute();
                 
                 if (response.isSuccessful() && response.body() != null) {
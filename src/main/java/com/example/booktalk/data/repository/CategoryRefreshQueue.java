@@ -0,0 +1,218 @@
+package com.example.booktalk.data.repository;
+
+import com.example.booktalk.util.TaskScheduler;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Home category refreshes, at most maxParallel handed to the scheduler at once
+ * Waiting refreshes are kept in one list ordered visible-first, then in the order they
+ * were asked for; setVisibleCategories() re-sorts it, moves queued refreshes of rows that
+ * came into view to the user-visible lane and gives their slots back from rows that didn't.
+ * A category already waiting or running is not queued twice
+ */
+class CategoryRefreshQueue {
+    
+    /**
+     * One category's refresh, supplied by the repository that asked for it
+     */
+    interface Refresh {
+        /**
+         * Fetch and cache the category (blocking, on a scheduler worker)
+         * @return true if new books were cached
+         */
+        boolean run();
+        
+        /**
+         * Hand the updated categories to the screen that asked for them
+         */
+        void publish(HomeRepository.CategoriesUpdateCallback callback);
+    }
+    
+    private final TaskScheduler scheduler;
+    private final int maxParallel;
+    
+    private final List<Entry> waiting = new ArrayList<>();
+    private final Map<Integer, Entry> dispatched = new HashMap<>(); // queued in the scheduler or running
+    private Set<Integer> visibleCategoryIds = new HashSet<>();
+    private long nextSequence;
+    
+    private final Comparator<Entry> visibleFirst = (a, b) -> {
+        boolean aVisible = visibleCategoryIds.contains(a.categoryId);
+        boolean bVisible = visibleCategoryIds.contains(b.categoryId);
+        if (aVisible != bVisible) {
+            return aVisible ? -1 : 1;
+        }
+        return Long.compare(a.sequence, b.sequence);
+    };
+    
+    CategoryRefreshQueue(TaskScheduler scheduler, int maxParallel) {
+        this.scheduler = scheduler;
+        this.maxParallel = maxParallel;
+    }
+    
+    /**
+     * Queue a refresh unless the category is already waiting or running
+     * @param callback Told when new books were cached; replaces the earlier caller's (null keeps it)
+     * @return false if the category was already queued
+     */
+    boolean enqueue(int categoryId, Refresh refresh, HomeRepository.CategoriesUpdateCallback callback) {
+        synchronized (this) {
+            Entry existing = find(categoryId);
+            if (existing != null) {
+                if (callback != null) {
+                    existing.callback = callback;
+                }
+                return false;
+            }
+            waiting.add(new Entry(categoryId, nextSequence++, refresh, callback));
+            waiting.sort(visibleFirst);
+        }
+        dispatch();
+        return true;
+    }
+    
+    /**
+     * Categories on screen now; their refreshes go first and run in the user-visible lane
+     */
+    void setVisibleCategories(Collection<Integer> categoryIds) {
+        synchronized (this) {
+            visibleCategoryIds = new HashSet<>(categoryIds);
+            
+            for (Entry entry : dispatched.values()) {
+                if (entry.lane == TaskScheduler.Priority.BACKGROUND && visibleCategoryIds.contains(entry.categoryId)
+                        && scheduler.reprioritize(entry.task, TaskScheduler.Priority.USER_VISIBLE)) {
+                    entry.lane = TaskScheduler.Priority.USER_VISIBLE;
+                }
+            }
+            
+            // Rows in view still waiting for a slot take it from queued refreshes of rows out of view
+            int visibleWaiting = 0;
+            for (Entry entry : waiting) {
+                if (visibleCategoryIds.contains(entry.categoryId)) {
+                    visibleWaiting++;
+                }
+            }
+            List<Entry> outOfView = new ArrayList<>();
+            for (Entry entry : dispatched.values()) {
+                if (!visibleCategoryIds.contains(entry.categoryId)) {
+                    outOfView.add(entry);
+                }
+            }
+            outOfView.sort((a, b) -> Long.compare(b.sequence, a.sequence)); // latest queued gives way first
+            for (Entry entry : outOfView) {
+                if (visibleWaiting == 0) {
+                    break;
+                }
+                if (scheduler.cancel(entry.task)) {
+                    dispatched.remove(entry.categoryId);
+                    entry.task = null;
+                    waiting.add(entry);
+                    visibleWaiting--;
+                }
+            }
+            waiting.sort(visibleFirst);
+        }
+        dispatch();
+    }
+    
+    /**
+     * Forget a screen that went away: nothing counts as visible any more and its callback is
+     * dropped (refreshes still run and are cached)
+     */
+    synchronized void detach(HomeRepository.CategoriesUpdateCallback callback) {
+        visibleCategoryIds = new HashSet<>();
+        waiting.sort(visibleFirst);
+        for (Entry entry : waiting) {
+            if (entry.callback == callback) {
+                entry.callback = null;
+            }
+        }
+        for (Entry entry : dispatched.values()) {
+            if (entry.callback == callback) {
+                entry.callback = null;
+            }
+        }
+    }
+    
+    synchronized int getWaitingCount() {
+        return waiting.size();
+    }
+    
+    synchronized int getDispatchedCount() {
+        return dispatched.size();
+    }
+    
+    /**
+     * Hand waiting refreshes to the scheduler while slots are free
+     */
+    private void dispatch() {
+        synchronized (this) {
+            while (dispatched.size() < maxParallel && !waiting.isEmpty()) {
+                Entry entry = waiting.remove(0);
+                entry.lane = visibleCategoryIds.contains(entry.categoryId)
+                        ? TaskScheduler.Priority.USER_VISIBLE
+                        : TaskScheduler.Priority.BACKGROUND;
+                dispatched.put(entry.categoryId, entry);
+                entry.task = scheduler.execute(entry.lane, () -> run(entry));
+            }
+        }
+    }
+    
+    private void run(Entry entry) {
+        try {
+            if (entry.refresh.run()) {
+                HomeRepository.CategoriesUpdateCallback callback = entry.callback;
+                if (callback != null) {
+                    // Checked again on delivery: the screen may be detached before the update arrives
+                    entry.refresh.publish(categories -> {
+                        if (entry.callback == callback) {
+                            callback.onCategoriesUpdated(categories);
+                        }
+                    });
+                }
+            }
+        } finally {
+            synchronized (this) {
+                dispatched.remove(entry.categoryId);
+            }
+            dispatch();
+        }
+    }
+    
+    private Entry find(int categoryId) {
+        Entry entry = dispatched.get(categoryId);
+        if (entry != null) {
+            return entry;
+        }
+        for (Entry candidate : waiting) {
+            if (candidate.categoryId == categoryId) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+    
+    private static class Entry {
+        final int categoryId;
+        final long sequence;
+        final Refresh refresh;
+        volatile HomeRepository.CategoriesUpdateCallback callback;
+        TaskScheduler.Priority lane;
+        TaskScheduler.Task task;
+        
+        Entry(int categoryId, long sequence, Refresh refresh, HomeRepository.CategoriesUpdateCallback callback) {
+            this.categoryId = categoryId;
+            this.sequence = sequence;
+            this.refresh = refresh;
+            this.callback = callback;
+        }
+    }
+}
+
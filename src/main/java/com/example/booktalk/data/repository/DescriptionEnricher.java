@@ -0,0 +1,326 @@
+package com.example.booktalk.data.repository;
+
+import com.example.booktalk.data.dao.BookDao;
+import com.example.booktalk.data.dao.DescriptionMissDao;
+import com.example.booktalk.data.model.Book;
+import com.example.booktalk.data.remote.BookQualityFilter;
+import com.example.booktalk.data.remote.BooksApiService;
+import com.example.booktalk.data.remote.CancellationToken;
+import com.example.booktalk.data.remote.CircuitBreaker;
+import com.example.booktalk.data.remote.Deadline;
+import com.example.booktalk.data.remote.EnrichmentBudget;
+import com.example.booktalk.data.remote.QueryBuilder;
+import com.example.booktalk.data.remote.RetrofitClient;
+import com.example.booktalk.data.remote.VolumeResponse;
+import com.example.booktalk.util.TaskScheduler;
+import retrofit2.Call;
+import retrofit2.Response;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enrichment stage that fetches missing descriptions for ranked candidates
+ * Runs detail calls with bounded concurrency, keeps ranked order, and stops
+ * handing out new calls once the target number of complete books is guaranteed
+ * Descriptions already stored locally are used first, without a network call;
+ * each detail call is drawn from the shared EnrichmentBudget. When the caller's
+ * deadline passes, the books resolved so far are returned
+ */
+public class DescriptionEnricher {
+    private static final int MAX_CONCURRENT_CALLS = 4;
+    public static final long NEGATIVE_CACHE_TTL = 30L * 24 * 60 * 60 * 1000; // 30 days: descriptions rarely appear later
+    
+    // Shared by every enricher so total detail concurrency stays bounded; a user search's calls
+    // go ahead of queued background ones, and background calls (possibly waiting for rate limiter
+    // tokens) never hold more than half the threads
+    private static final TaskScheduler DETAIL_CALLS =
+            TaskScheduler.newPool("detail", MAX_CONCURRENT_CALLS, MAX_CONCURRENT_CALLS / 2);
+    
+    private static final int STATE_PENDING = 0;
+    private static final int STATE_COMPLETE = 1;
+    private static final int STATE_INCOMPLETE = 2;
+    
+    private BooksApiService apiService;
+    private CircuitBreaker circuitBreaker;
+    private EnrichmentBudget budget;
+    private BookDao bookDao;
+    private DescriptionMissDao missDao;
+    private String logTag;
+    
+    /**
+     * Outcome of one enrichment run
+     */
+    public static class Result {
+        private final List<Book> completeBooks;
+        private final int detailCallsMade;
+        private final int localDescriptionsUsed;
+        private final int knownMissesSkipped;
+        private final boolean budgetLimited;
+        private final boolean deadlineReached;
+        private final int unusedCandidates;
+        private final long elapsedMs;
+        
+        Result(List<Book> completeBooks, int detailCallsMade, int localDescriptionsUsed, int knownMissesSkipped,
+               boolean budgetLimited, boolean deadlineReached, int unusedCandidates, long elapsedMs) {
+            this.completeBooks = completeBooks;
+            this.detailCallsMade = detailCallsMade;
+            this.localDescriptionsUsed = localDescriptionsUsed;
+            this.knownMissesSkipped = knownMissesSkipped;
+            this.budgetLimited = budgetLimited;
+            this.deadlineReached = deadlineReached;
+            this.unusedCandidates = unusedCandidates;
+            this.elapsedMs = elapsedMs;
+        }
+        
+        /**
+         * Complete books in ranked order (at most the requested target)
+         */
+        public List<Book> getCompleteBooks() {
+            return completeBooks;
+        }
+        
+        public int getDetailCallsMade() {
+            return detailCallsMade;
+        }
+        
+        /**
+         * Detail calls avoided because the books table already had the description
+         */
+        public int getLocalDescriptionsUsed() {
+            return localDescriptionsUsed;
+        }
+        
+        /**
+         * Detail calls avoided because the negative cache knew the volume has no description
+         */
+        public int getKnownMissesSkipped() {
+            return knownMissesSkipped;
+        }
+        
+        /**
+         * True if the shared budget refused a detail call (fewer complete books than possible)
+         */
+        public boolean isBudgetLimited() {
+            return budgetLimited;
+        }
+        
+        /**
+         * True if the deadline passed before every candidate was resolved (partial result)
+         */
+        public boolean isDeadlineReached() {
+            return deadlineReached;
+        }
+        
+        /**
+         * Candidates ranked after the last returned book, left over because the target was met
+         * (never looked at, or resolved after enough complete books were found)
+         */
+        public int getUnusedCandidates() {
+            return unusedCandidates;
+        }
+        
+        public long getElapsedMs() {
+            return elapsedMs;
+        }
+    }
+    
+    public DescriptionEnricher(BooksApiService apiService, BookDao bookDao, DescriptionMissDao missDao, String logTag) {
+        this.apiService = apiService;
+        this.circuitBreaker = RetrofitClient.getInstance().getCircuitBreaker();
+        this.budget = RetrofitClient.getInstance().getEnrichmentBudget();
+        this.bookDao = bookDao;
+        this.missDao = missDao;
+        this.logTag = logTag;
+    }
+    
+    /**
+     * Fill in missing descriptions and return the first complete books in ranked order
+     * @param rankedCandidates Candidates already ranked (title/author/thumbnail present)
+     * @param targetCompleteBooks Stop dispatching once this many complete books are guaranteed
+     * @param maxDetailCalls Upper bound on detail API calls for this run
+     * @param priority USER for work the user is waiting on, BACKGROUND otherwise
+     * @param deadline Stop waiting for detail calls when it passes (Deadline.none() for no limit)
+     * @param cancellation Once cancelled, no more calls are sent and those in flight are aborted
+     */
+    public Result enrich(List<Book> rankedCandidates, int targetCompleteBooks, int maxDetailCalls,
+                         EnrichmentBudget.Priority priority, Deadline deadline, CancellationToken cancellation) {
+        long startTime = System.currentTimeMillis();
+        int candidateCount = rankedCandidates.size();
+        int[] states = new int[candidateCount];
+        
+        CompletionService<Integer> completionService = new ExecutorCompletionService<>(DETAIL_CALLS.asExecutor());
+        int nextIndex = 0;
+        int inFlight = 0;
+        int detailCallsMade = 0;
+        int completeResolved = 0;
+        int knownMissesSkipped = 0;
+        boolean budgetLimited = false;
+        boolean deadlineReached = false;
+        
+        // Local first: volumes stored earlier (other searches, categories, detail pages) may have a description
+        int localDescriptionsUsed = fillFromLocalStore(rankedCandidates);
+        
+        // One lookup for the whole run: which candidates were already checked and had no description
+        List<String> missingIds = new ArrayList<>();
+        for (Book book : rankedCandidates) {
+            if (needsDescription(book)) {
+                missingIds.add(book.getBookId());
+            }
+        }
+        Set<String> knownMisses = missDao.getKnownMisses(missingIds, startTime - NEGATIVE_CACHE_TTL);
+        
+        while (true) {
+            // Hand out work in ranked order until the target is guaranteed
+            while (inFlight < MAX_CONCURRENT_CALLS && nextIndex < candidateCount
+                    && completeResolved < targetCompleteBooks) {
+                int index = nextIndex++;
+                Book book = rankedCandidates.get(index);
+                
+                boolean knownMiss = knownMisses.contains(book.getBookId());
+                if (knownMiss) {
+                    knownMissesSkipped++;
+                }
+                
+                // While the circuit is open or the budget is spent, books without a description are simply incomplete
+                boolean wantsCall = needsDescription(book) && !knownMiss && detailCallsMade < maxDetailCalls
+                        && !budgetLimited && !deadline.isExpired() && !cancellation.isCancelled() && !circuitBreaker.isOpen();
+                if (wantsCall && !budget.tryAcquire(priority)) {
+                    budgetLimited = true;
+                    wantsCall = false;
+                }
+                if (wantsCall) {
+                    // Queued at the priority of the task running this enrichment
+                    completionService.submit(() -> {
+                        fetchDescription(book, deadline, cancellation);
+                        return index;
+                    });
+                    inFlight++;
+                    detailCallsMade++;
+                } else {
+                    states[index] = BookQualityFilter.isCompleteBook(book) ? STATE_COMPLETE : STATE_INCOMPLETE;
+                    if (states[index] == STATE_COMPLETE) {
+                        completeResolved++;
+                    }
+                }
+            }
+            
+            if (inFlight == 0) {
+                break;
+            }
+            
+            try {
+                Future<Integer> done = deadline.isNone()
+                        ? completionService.take()
+                        : completionService.poll(deadline.remainingMs(), TimeUnit.MILLISECONDS);
+                if (done == null) {
+                    // Out of time: calls still in flight end on their own timeouts, their books count as incomplete
+                    deadlineReached = true;
+                    break;
+                }
+                int index = done.get();
+                inFlight--;
+                Book book = rankedCandidates.get(index);
+                states[index] = BookQualityFilter.isCompleteBook(book) ? STATE_COMPLETE : STATE_INCOMPLETE;
+                if (states[index] == STATE_COMPLETE) {
+                    completeResolved++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                // fetchDescription handles its own failures; treat anything else as incomplete
+                inFlight--;
+                android.util.Log.w(logTag, "Detail task failed: " + e.getMessage());
+            }
+        }
+        
+        // Collect complete books in ranked order, capped at the target
+        List<Book> completeBooks = new ArrayList<>();
+        int lastUsedIndex = candidateCount - 1;
+        for (int i = 0; i < candidateCount && completeBooks.size() < targetCompleteBooks; i++) {
+            if (states[i] == STATE_COMPLETE) {
+                completeBooks.add(rankedCandidates.get(i));
+                lastUsedIndex = i;
+            }
+        }
+        int unusedCandidates = completeBooks.size() >= targetCompleteBooks ? candidateCount - 1 - lastUsedIndex : 0;
+        
+        long elapsedMs = System.currentTimeMillis() - startTime;
+        if (deadlineReached) {
+            android.util.Log.d(logTag, "Deadline reached with " + inFlight + " detail calls in flight, returning " + completeBooks.size() + " books");
+        }
+        if (budgetLimited) {
+            android.util.Log.d(logTag, "Enrichment budget reached (" + priority + "), stopped after " + detailCallsMade + " detail calls");
+        }
+        return new Result(completeBooks, detailCallsMade, localDescriptionsUsed, knownMissesSkipped, budgetLimited, deadlineReached, unusedCandidates, elapsedMs);
+    }
+    
+    /**
+     * Copy descriptions from the books table onto candidates missing one (one batched query)
+     * @return Number of candidates filled in
+     */
+    private int fillFromLocalStore(List<Book> candidates) {
+        Map<String, Book> missing = new HashMap<>();
+        for (Book book : candidates) {
+            if (needsDescription(book)) {
+                missing.put(book.getBookId(), book);
+            }
+        }
+        if (missing.isEmpty()) {
+            return 0;
+        }
+        
+        int filled = 0;
+        for (Book stored : bookDao.getBooksByIds(new ArrayList<>(missing.keySet()))) {
+            Book candidate = missing.get(stored.getBookId());
+            if (candidate != null && !needsDescription(stored)) {
+                candidate.setDescription(stored.getDescription());
+                filled++;
+            }
+        }
+        return filled;
+    }
+    
+    private boolean needsDescription(Book book) {
+        return book.getDescription() == null || book.getDescription().trim().isEmpty();
+    }
+    
+    /**
+     * Fetch detail API and copy the description onto the book (runs on the detail pool)
+     */
+    private void fetchDescription(Book book, Deadline deadline, CancellationToken cancellation) {
+        try {
+            Call<VolumeResponse> detailCall =
+                apiService.getBookDetails(book.getBookId(), QueryBuilder.getDefaultCountry(),
+                    QueryBuilder.getDescriptionFields(), QueryBuilder.getDefaultProjection(), RetrofitClient.getApiKey());
+            Response<VolumeResponse> detailResponse = cancellation.register(deadline.apply(detailCall)).execute();
+            
+            if (detailResponse.isSuccessful() && detailResponse.body() != null) {
+                VolumeResponse volumeResponse = detailResponse.body();
+                if (volumeResponse.getVolumeInfo() != null) {
+                    String description = volumeResponse.getVolumeInfo().getDescription();
+                    if (description != null && !description.trim().isEmpty()) {
+                        book.setDescription(description);
+                    }
+                }
+                
+                // A successful answer without a description: remember it (errors are not cached)
+                if (needsDescription(book)) {
+                    missDao.recordMiss(book.getBookId(), System.currentTimeMillis());
+                }
+            }
+        } catch (IOException e) {
+            android.util.Log.w(logTag, "Failed to fetch detail for " + book.getBookId() + ": " + e.getMessage());
+        }
+    }
+}
+
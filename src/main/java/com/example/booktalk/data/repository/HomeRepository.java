@@ -4,36 +4,48 @@ import android.database.sqlite.SQLiteDatabase;
 import android.os.Handler;
 import android.os.Looper;
 import com.example.booktalk.data.dao.BookDao;
+import com.example.booktalk.data.dao.DescriptionMissDao;
 import com.example.booktalk.data.dao.HomeDao;
 import com.example.booktalk.data.db.AppDbHelper;
 import com.example.booktalk.data.model.Book;
 import com.example.booktalk.data.model.Category;
-import com.example.booktalk.data.remote.BookMapper;
 import com.example.booktalk.data.remote.BookQualityFilter;
+import com.example.booktalk.data.remote.BookPage;
 import com.example.booktalk.data.remote.BooksApiService;
-import com.example.booktalk.data.remote.BooksResponse;
+import com.example.booktalk.data.remote.CancellationToken;
+import com.example.booktalk.data.remote.Deadline;
+import com.example.booktalk.data.remote.EnrichmentBudget;
+import com.example.booktalk.data.remote.FetchProfile;
 import com.example.booktalk.data.remote.QueryBuilder;
 import com.example.booktalk.data.remote.RetrofitClient;
+import com.example.booktalk.util.TaskScheduler;
 import retrofit2.Call;
 import retrofit2.Response;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * Repository for home category operations
  */
 public class HomeRepository {
     private static final long CACHE_TTL = 7 * 24 * 60 * 60 * 1000L; // 7 days in milliseconds
+    private static final int MAX_PARALLEL_REFRESHES = 3;
     
     private AppDbHelper dbHelper;
     private HomeDao homeDao;
     private BookDao bookDao;
     private BooksApiService apiService;
-    private ExecutorService executorService;
+    private TaskScheduler.SerialQueue taskQueue;
+    private DescriptionEnricher descriptionEnricher;
     private Handler mainHandler;
     
+    // Shared by every instance: each home view builds its own repository, and a category
+    // queued by one must not be fetched again by the next
+    private static final CategoryRefreshQueue REFRESH_QUEUE =
+            new CategoryRefreshQueue(TaskScheduler.getInstance(), MAX_PARALLEL_REFRESHES);
+    
     public interface CategoriesUpdateCallback {
         void onCategoriesUpdated(List<Category> categories);
     }
@@ -44,7 +56,8 @@ public class HomeRepository {
         this.homeDao = new HomeDao(db);
         this.bookDao = new BookDao(db);
         this.apiService = RetrofitClient.getInstance().getApiService();
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.taskQueue = TaskScheduler.getInstance().newSerialQueue();
+        this.descriptionEnricher = new DescriptionEnricher(apiService, bookDao, new DescriptionMissDao(db), "HomeRepository");
         this.mainHandler = new Handler(Looper.getMainLooper());
     }
     
@@ -77,7 +90,7 @@ public class HomeRepository {
      * Get categories with callback for async updates
      */
     public void getCategoriesAsync(CategoriesUpdateCallback callback) {
-        executorService.execute(() -> {
+        taskQueue.execute(TaskScheduler.Priority.USER_VISIBLE, () -> {
             List<Category> categories = homeDao.getAllCategories();
             
             // Load books for each category from cache first
@@ -91,6 +104,16 @@ public class HomeRepository {
                 mainHandler.post(() -> callback.onCategoriesUpdated(categories));
             }
             
+            // API known to be down: the cached data is all we can show for now
+            if (RetrofitClient.getInstance().getCircuitBreaker().isOpen()) {
+                android.util.Log.d("HomeRepository", "Circuit open, skipping category refresh");
+                return;
+            }
+            if (!RetrofitClient.getInstance().isOnline()) {
+                android.util.Log.d("HomeRepository", "Offline, skipping category refresh");
+                return;
+            }
+            
             // Then fetch fresh data for each category that needs it
             for (Category category : categories) {
                 long now = System.currentTimeMillis();
@@ -98,217 +121,268 @@ public class HomeRepository {
                 boolean isEmpty = category.getBooks() == null || category.getBooks().isEmpty();
                 
                 if (isStale || isEmpty) {
-                    // Fetch from API in background (sequential to avoid race conditions)
+                    // Refreshed in parallel (visible rows first); each row is published when it is done
                     fetchCategoryBooksAsync(category, callback);
                 }
             }
         });
     }
     
+    /**
+     * Tell the repository which categories are on screen; their refreshes start first
+     * (refreshes already queued as background prefetch move to the user-visible lane)
+     */
+    public void setVisibleCategories(Collection<Integer> categoryIds) {
+        REFRESH_QUEUE.setVisibleCategories(categoryIds);
+    }
+    
+    /**
+     * Stop reporting to a screen that went away (refreshes in progress are still cached)
+     */
+    public void detach(CategoriesUpdateCallback callback) {
+        REFRESH_QUEUE.detach(callback);
+    }
+    
     /**
      * Fetch books for a category from API (async)
+     * At most MAX_PARALLEL_REFRESHES run at once; a category already queued or running is not queued twice
+     */
+    private void fetchCategoryBooksAsync(Category category, CategoriesUpdateCallback callback) {
+        REFRESH_QUEUE.enqueue(category.getCategoryId(), new CategoryRefreshQueue.Refresh() {
+            @Override
+            public boolean run() {
+                try {
+                    return refreshCategory(category, CancellationToken.none());
+                } catch (IOException e) {
+                    android.util.Log.e("HomeRepository", "Error fetching books for " + category.getName() + ": " + e.getMessage());
+                    e.printStackTrace();
+                    return false;
+                }
+            }
+            
+            @Override
+            public void publish(CategoriesUpdateCallback callback) {
+                publishCategories(callback);
+            }
+        }, callback);
+    }
+    
+    /**
+     * Reload every category from the database and hand them to the UI
+     */
+    private void publishCategories(CategoriesUpdateCallback callback) {
+        List<Category> updatedCategories = homeDao.getAllCategories();
+        for (Category cat : updatedCategories) {
+            // Reload books for each category from database
+            List<Book> catBooks = homeDao.getCategoryBooks(cat.getCategoryId());
+            cat.setBooks(catBooks);
+            android.util.Log.d("HomeRepository", "Final check - Category " + cat.getName() + " (ID: " + cat.getCategoryId() + ") has " + (catBooks != null ? catBooks.size() : 0) + " books");
+        }
+        mainHandler.post(() -> callback.onCategoriesUpdated(updatedCategories));
+    }
+    
+    /**
+     * Refresh one category by ID on the calling thread (background sync)
+     * Skips categories fetched within maxAgeMs
+     * @return true if the category was refreshed with new books
+     */
+    public boolean refreshCategoryIfOlderThan(int categoryId, long maxAgeMs) throws IOException {
+        return refreshCategoryIfOlderThan(categoryId, maxAgeMs, CancellationToken.none());
+    }
+    
+    /**
+     * Refresh one category by ID, giving up (nothing written) once the token is cancelled
+     * @throws InterruptedIOException If cancelled
+     */
+    public boolean refreshCategoryIfOlderThan(int categoryId, long maxAgeMs, CancellationToken cancellation) throws IOException {
+        cancellation.throwIfCancelled();
+        Category category = homeDao.getCategoryById(categoryId);
+        if (category == null) {
+            return false;
+        }
+        
+        long age = System.currentTimeMillis() - category.getFetchedAt();
+        if (age < maxAgeMs && !homeDao.getCategoryBooks(categoryId).isEmpty()) {
+            return false;
+        }
+        return refreshCategory(category, cancellation);
+    }
+    
+    /**
+     * Fetch, enrich and cache books for a category (blocking)
      * STRICT REQUIREMENT: Only show books with complete data (title, author, thumbnail, description)
      * RANKING: Order by highest-rated books (ratingsCount DESC, averageRating DESC)
+     * @param cancellation Aborts the calls in flight; a cancelled refresh writes nothing
+     * @return true if new books were cached
      */
-    private void fetchCategoryBooksAsync(Category category, CategoriesUpdateCallback callback) {
-        executorService.execute(() -> {
+    private boolean refreshCategory(Category category, CancellationToken cancellation) throws IOException {
+        int categoryId = category.getCategoryId();
+        String categoryName = category.getName();
+        String queryHint = category.getQueryHint();
+        String apiKey = RetrofitClient.getApiKey();
+        
+        long refreshStartTime = System.currentTimeMillis();
+        int searchCallsMade = 0;
+        
+        android.util.Log.d("HomeRepository", "=== Fetching for category: " + categoryName + " (ID: " + categoryId + ") ===");
+        
+        // Category enrichment is background work: with no budget left, keep showing what is cached
+        EnrichmentBudget budget = RetrofitClient.getInstance().getEnrichmentBudget();
+        int cachedBookCount = homeDao.getCategoryBooks(categoryId).size();
+        if (budget.getRemaining(EnrichmentBudget.Priority.BACKGROUND) == 0 && cachedBookCount > 0) {
+            android.util.Log.d("HomeRepository", "Enrichment budget spent, keeping cached books for " + categoryName);
+            return false;
+        }
+        
+        // Build query using QueryBuilder
+        String query = QueryBuilder.buildHomeCategoryQuery(queryHint);
+        android.util.Log.d("HomeRepository", "Query: " + query);
+        
+        // Smaller pages, no second page and fewer detail calls on slow or metered links
+        FetchProfile profile = QueryBuilder.getFetchProfile();
+        int pageSize = profile.getPageSize();
+        
+        // STEP 1: Fetch enough candidates (40 books, optionally 2 pages)
+        // STEP 2: Immediate filter - items missing title/author/thumbnail are
+        // dropped by StreamingBookDecoder while the response is parsed
+        List<Book> candidatesWithBasicData = new java.util.ArrayList<>();
+        int itemsFetched = 0;
+        
+        // Fetch first page (40 results)
+        Call<BookPage> call = apiService.searchBookPage(
+            query,
+            pageSize,                            // 40 on a good link
+            QueryBuilder.getDefaultPrintType(),  // "books"
+            QueryBuilder.getDefaultOrderBy(),    // "relevance"
+            QueryBuilder.getDefaultLang(),       // "en"
+            QueryBuilder.getDefaultCountry(),    // "US"
+            null, // startIndex = 0 (first page)
+            QueryBuilder.getListFields(),
+            QueryBuilder.getDefaultProjection(),
+            apiKey
+        );
+        Response<BookPage> response = cancellation.register(call).execute();
+        searchCallsMade++;
+        
+        if (response.isSuccessful() && response.body() != null) {
+            BookPage page = response.body();
+            candidatesWithBasicData.addAll(page.getBooks());
+            itemsFetched += page.getItemCount();
+            android.util.Log.d("HomeRepository", "Fetched " + page.getItemCount() + " books from first page");
+        }
+        
+        // Optional: Fetch second page if needed (startIndex=40)
+        if (profile.isFetchSecondPage() && itemsFetched < pageSize) {
             try {
-                int categoryId = category.getCategoryId();
-                String categoryName = category.getName();
-                String queryHint = category.getQueryHint();
-                String apiKey = RetrofitClient.getApiKey();
-                
-                android.util.Log.d("HomeRepository", "=== Fetching for category: " + categoryName + " (ID: " + categoryId + ") ===");
-                
-                // Build query using QueryBuilder
-                String query = QueryBuilder.buildHomeCategoryQuery(queryHint);
-                android.util.Log.d("HomeRepository", "Query: " + query);
-                
-                // STEP 1: Fetch enough candidates (40 books, optionally 2 pages)
-                List<Book> allBooks = new java.util.ArrayList<>();
-                
-                // Fetch first page (40 results)
-                Call<BooksResponse> call = apiService.searchBooks(
+                Call<BookPage> call2 = apiService.searchBookPage(
                     query,
-                    QueryBuilder.getDefaultMaxResults(), // 40
-                    QueryBuilder.getDefaultPrintType(),  // "books"
-                    QueryBuilder.getDefaultOrderBy(),    // "relevance"
-                    QueryBuilder.getDefaultLang(),       // "en"
-                    QueryBuilder.getDefaultCountry(),    // "US"
-                    null, // startIndex = 0 (first page)
+                    pageSize,
+                    QueryBuilder.getDefaultPrintType(),
+                    QueryBuilder.getDefaultOrderBy(),
+                    QueryBuilder.getDefaultLang(),
+                    QueryBuilder.getDefaultCountry(), // "US"
+                    pageSize, // startIndex = 40 (second page)
+                    QueryBuilder.getListFields(),
+                    QueryBuilder.getDefaultProjection(),
                     apiKey
                 );
-                Response<BooksResponse> response = call.execute();
-                
-                if (response.isSuccessful() && response.body() != null) {
-                    BooksResponse booksResponse = response.body();
-                    if (booksResponse.getItems() != null && !booksResponse.getItems().isEmpty()) {
-                        List<Book> books = BookMapper.toBookList(booksResponse.getItems());
-                        allBooks.addAll(books);
-                        android.util.Log.d("HomeRepository", "Fetched " + books.size() + " books from first page");
-                    }
+                Response<BookPage> response2 = cancellation.register(call2).execute();
+                searchCallsMade++;
+                if (response2.isSuccessful() && response2.body() != null) {
+                    BookPage page2 = response2.body();
+                    candidatesWithBasicData.addAll(page2.getBooks());
+                    itemsFetched += page2.getItemCount();
+                    android.util.Log.d("HomeRepository", "Fetched " + page2.getItemCount() + " books from second page");
                 }
-                
-                // Optional: Fetch second page if needed (startIndex=40)
-                if (allBooks.size() < 40) {
-                    try {
-                        Call<BooksResponse> call2 = apiService.searchBooks(
-                            query,
-                            QueryBuilder.getDefaultMaxResults(),
-                            QueryBuilder.getDefaultPrintType(),
-                            QueryBuilder.getDefaultOrderBy(),
-                            QueryBuilder.getDefaultLang(),
-                            QueryBuilder.getDefaultCountry(), // "US"
-                            40, // startIndex = 40 (second page)
-                            apiKey
-                        );
-                        Response<BooksResponse> response2 = call2.execute();
-                        if (response2.isSuccessful() && response2.body() != null) {
-                            BooksResponse booksResponse2 = response2.body();
-                            if (booksResponse2.getItems() != null && !booksResponse2.getItems().isEmpty()) {
-                                List<Book> books2 = BookMapper.toBookList(booksResponse2.getItems());
-                                allBooks.addAll(books2);
-                                android.util.Log.d("HomeRepository", "Fetched " + books2.size() + " books from second page");
-                            }
-                        }
-                    } catch (IOException e) {
-                        android.util.Log.w("HomeRepository", "Failed to fetch second page: " + e.getMessage());
-                    }
-                }
-                
-                android.util.Log.d("HomeRepository", "Total fetched: " + allBooks.size() + " books");
-                
-                // STEP 2: Immediate filter - drop items missing title/author/thumbnail
-                List<Book> candidatesWithBasicData = new java.util.ArrayList<>();
-                for (Book book : allBooks) {
-                    // Must have title
-                    if (book.getTitle() == null || book.getTitle().trim().isEmpty()) {
-                        continue;
-                    }
-                    // Must have author
-                    if (book.getAuthor() == null || book.getAuthor().trim().isEmpty() || 
-                        book.getAuthor().equals("Unknown Author")) {
-                        continue;
-                    }
-                    // Must have thumbnail
-                    if (book.getCoverUrl() == null || book.getCoverUrl().trim().isEmpty()) {
-                        continue;
-                    }
-                    candidatesWithBasicData.add(book);
+            } catch (IOException e) {
+                cancellation.throwIfCancelled();
+                android.util.Log.w("HomeRepository", "Failed to fetch second page: " + e.getMessage());
+            }
+        }
+        
+        android.util.Log.d("HomeRepository", "Total fetched: " + itemsFetched + " books");
+        android.util.Log.d("HomeRepository", "After basic filter (title/author/thumbnail): " + candidatesWithBasicData.size() + " books");
+        
+        // STEP 2b: Collapse editions of the same work (paperback, ebook, reprints) into one candidate
+        List<Book> distinctCandidates = BookQualityFilter.dedupeEditions(candidatesWithBasicData);
+        android.util.Log.d("HomeRepository", "After edition dedup: " + distinctCandidates.size() + " books");
+        
+        // STEP 3: Rank by ratings BEFORE fetching details (to limit detail API calls)
+        List<Book> rankedCandidates = BookQualityFilter.rankBooksByRatings(distinctCandidates);
+        
+        // STEP 4: Fetch details for books missing description (limit to top K=20 candidates)
+        // STEP 5: Apply STRICT completeness filter (all 4 fields required)
+        int maxDetailCalls = profile.getCategoryDetailCalls(); // Limit to avoid too many network calls
+        int targetCompleteBooks = 12; // Need 12 complete books per category
+        
+        DescriptionEnricher.Result enrichment = descriptionEnricher.enrich(
+            rankedCandidates, targetCompleteBooks, maxDetailCalls, EnrichmentBudget.Priority.BACKGROUND, Deadline.none(),
+            cancellation);
+        cancellation.throwIfCancelled();
+        List<Book> completeBooks = enrichment.getCompleteBooks();
+        
+        android.util.Log.d("HomeRepository", "Complete books found: " + completeBooks.size() + " (made " + enrichment.getDetailCallsMade() + " detail API calls, avoided " + enrichment.getLocalDescriptionsUsed() + " with local descriptions and " + enrichment.getKnownMissesSkipped() + " known misses, " + enrichment.getElapsedMs() + " ms)");
+        
+        // STEP 6: Final ranking by ratings (in case fetching details changed order)
+        List<Book> finalRankedBooks = BookQualityFilter.rankBooksByRatings(completeBooks);
+        
+        // STEP 7: Take top N = 12 complete books
+        int topN = 12;
+        List<Book> topBooks = finalRankedBooks.size() > topN 
+            ? finalRankedBooks.subList(0, topN) 
+            : finalRankedBooks;
+        
+        android.util.Log.d("HomeRepository", "Final top " + topBooks.size() + " complete books for " + categoryName);
+        
+        // Cut short by the budget: don't replace a fuller cached list (fetched_at stays old, so it is retried later)
+        if (enrichment.isBudgetLimited() && topBooks.size() < cachedBookCount) {
+            android.util.Log.d("HomeRepository", "Budget-limited refresh found " + topBooks.size() + " books, keeping " + cachedBookCount + " cached for " + categoryName);
+            topBooks = new java.util.ArrayList<>();
+        }
+        
+        if (!topBooks.isEmpty()) {
+            // STEP 8: Cache into SQLite
+            SQLiteDatabase db = dbHelper.getWritableDatabase();
+            BookDao bookDao = new BookDao(db);
+            HomeDao homeDao = new HomeDao(db);
+            
+            // One transaction: other categories refresh in parallel and may publish the whole list
+            // at any moment, so this one must never be seen half-replaced
+            long now = System.currentTimeMillis();
+            db.beginTransaction();
+            try {
+                // Upsert all complete books (with description)
+                for (Book book : topBooks) {
+                    bookDao.upsertBook(book);
                 }
+                android.util.Log.d("HomeRepository", "Saved " + topBooks.size() + " complete books to database");
                 
-                android.util.Log.d("HomeRepository", "After basic filter (title/author/thumbnail): " + candidatesWithBasicData.size() + " books");
-                
-                // STEP 3: Rank by ratings BEFORE fetching details (to limit detail API calls)
-                List<Book> rankedCandidates = BookQualityFilter.rankBooksByRatings(candidatesWithBasicData);
-                
-                // STEP 4: Fetch details for books missing description (limit to top K=20 candidates)
-                int maxDetailCalls = 20; // Limit to avoid too many network calls
-                int detailCallsMade = 0;
-                int completeBooksFound = 0;
-                int targetCompleteBooks = 12; // Need 12 complete books per category
-                
-                List<Book> completeBooks = new java.util.ArrayList<>();
+                // Clear old category books FIRST before inserting new ones
+                homeDao.deleteCategoryBooks(categoryId);
+                android.util.Log.d("HomeRepository", "Cleared old books for category " + categoryName);
                 
-                for (Book book : rankedCandidates) {
-                    // If we already have enough complete books, stop
-                    if (completeBooksFound >= targetCompleteBooks) {
-                        break;
-                    }
-                    
-                    // Check if description is missing
-                    boolean needsDescription = (book.getDescription() == null || book.getDescription().trim().isEmpty());
-                    
-                    if (needsDescription && detailCallsMade < maxDetailCalls) {
-                        // Fetch detail API to get description
-                        try {
-                            Call<com.example.booktalk.data.remote.VolumeResponse> detailCall = 
-                                apiService.getBookDetails(book.getBookId(), QueryBuilder.getDefaultCountry(), apiKey);
-                            Response<com.example.booktalk.data.remote.VolumeResponse> detailResponse = detailCall.execute();
-                            
-                            if (detailResponse.isSuccessful() && detailResponse.body() != null) {
-                                com.example.booktalk.data.remote.VolumeResponse volumeResponse = detailResponse.body();
-                                if (volumeResponse.getVolumeInfo() != null) {
-                                    String description = volumeResponse.getVolumeInfo().getDescription();
-                                    if (description != null && !description.trim().isEmpty()) {
-                                        book.setDescription(description);
-                                    }
-                                }
-                            }
-                            detailCallsMade++;
-                        } catch (IOException e) {
-                            android.util.Log.w("HomeRepository", "Failed to fetch detail for " + book.getBookId() + ": " + e.getMessage());
-                        }
-                    }
-                    
-                    // STEP 5: Apply STRICT completeness filter (all 4 fields required)
-                    if (BookQualityFilter.isCompleteBook(book)) {
-                        completeBooks.add(book);
-                        completeBooksFound++;
-                    }
+                // Insert new category books with sort_order (0..N-1)
+                for (int i = 0; i < topBooks.size(); i++) {
+                    Book book = topBooks.get(i);
+                    homeDao.insertCategoryBook(categoryId, book.getBookId(), i);
                 }
                 
-                android.util.Log.d("HomeRepository", "Complete books found: " + completeBooks.size() + " (made " + detailCallsMade + " detail API calls)");
-                
-                // STEP 6: Final ranking by ratings (in case fetching details changed order)
-                List<Book> finalRankedBooks = BookQualityFilter.rankBooksByRatings(completeBooks);
-                
-                // STEP 7: Take top N = 12 complete books
-                int topN = 12;
-                List<Book> topBooks = finalRankedBooks.size() > topN 
-                    ? finalRankedBooks.subList(0, topN) 
-                    : finalRankedBooks;
-                
-                android.util.Log.d("HomeRepository", "Final top " + topBooks.size() + " complete books for " + categoryName);
-                
-                if (!topBooks.isEmpty()) {
-                    // STEP 8: Cache into SQLite
-                    SQLiteDatabase db = dbHelper.getWritableDatabase();
-                    BookDao bookDao = new BookDao(db);
-                    HomeDao homeDao = new HomeDao(db);
-                    
-                    // Upsert all complete books (with description)
-                    for (Book book : topBooks) {
-                        bookDao.upsertBook(book);
-                    }
-                    android.util.Log.d("HomeRepository", "Saved " + topBooks.size() + " complete books to database");
-                    
-                    // Clear old category books FIRST before inserting new ones
-                    homeDao.deleteCategoryBooks(categoryId);
-                    android.util.Log.d("HomeRepository", "Cleared old books for category " + categoryName);
-                    
-                    // Insert new category books with sort_order (0..N-1)
-                    for (int i = 0; i < topBooks.size(); i++) {
-                        Book book = topBooks.get(i);
-                        homeDao.insertCategoryBook(categoryId, book.getBookId(), i);
-                    }
-                    
-                    // Update fetched_at timestamp
-                    long now = System.currentTimeMillis();
-                    homeDao.updateCategoryFetchedAt(categoryId, now);
-                    category.setFetchedAt(now);
-                    category.setBooks(topBooks);
-                    
-                    // Update UI on main thread - reload all categories to ensure consistency
-                    if (callback != null) {
-                        // Reload all categories from database to get latest data
-                        List<Category> updatedCategories = homeDao.getAllCategories();
-                        for (Category cat : updatedCategories) {
-                            // Reload books for each category from database
-                            List<Book> catBooks = homeDao.getCategoryBooks(cat.getCategoryId());
-                            cat.setBooks(catBooks);
-                            android.util.Log.d("HomeRepository", "Final check - Category " + cat.getName() + " (ID: " + cat.getCategoryId() + ") has " + (catBooks != null ? catBooks.size() : 0) + " books");
-                        }
-                        mainHandler.post(() -> callback.onCategoriesUpdated(updatedCategories));
-                    }
-                } else {
-                    android.util.Log.d("HomeRepository", "No complete books found for " + categoryName);
-                }
-            } catch (IOException e) {
-                android.util.Log.e("HomeRepository", "Error fetching books for " + category.getName() + ": " + e.getMessage());
-                e.printStackTrace();
+                // Update fetched_at timestamp
+                homeDao.updateCategoryFetchedAt(categoryId, now);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
             }
-        });
+            category.setFetchedAt(now);
+            category.setBooks(topBooks);
+        } else {
+            android.util.Log.d("HomeRepository", "No complete books found for " + categoryName);
+        }
+        
+        long refreshElapsedMs = System.currentTimeMillis() - refreshStartTime;
+        android.util.Log.i("HomeRepository", "Refresh of " + categoryName + " took " + refreshElapsedMs + " ms (" + searchCallsMade + " search calls, " + enrichment.getDetailCallsMade() + " detail calls)");
+        
+        return !topBooks.isEmpty();
     }
     
     /**
@@ -341,4 +415,3 @@ public class HomeRepository {
         android.util.Log.d("HomeRepository", "Seeded 4 categories");
     }
 }
-
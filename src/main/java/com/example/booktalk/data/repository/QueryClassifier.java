@@ -0,0 +1,154 @@
+package com.example.booktalk.data.repository;
+
+import com.example.booktalk.data.dao.BookDao;
+import com.example.booktalk.data.remote.QueryBuilder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Picks the API query shape for a search locally, before any request is sent
+ * - ISBN-10/13 (hyphens, spaces and an "ISBN" prefix allowed): isbn:
+ * - Text in quotes: intitle: with the quoted title
+ * - "title by author" with an author already in the books table: intitle: + inauthor:
+ * - Full name of an author already in the books table: inauthor:
+ * - Anything else: intitle: first, raw text as fallback
+ * Confident shapes usually answer in one round trip, so the fallback is only sent
+ * when they come back short
+ */
+public class QueryClassifier {
+    private static final int FREE_TEXT_MIN_RESULTS = 10;
+    private static final int AUTHOR_MIN_RESULTS = 10;
+    
+    private static final Pattern ISBN_PREFIX = Pattern.compile("^isbn(?:-?1[03])?\\s*:?\\s*", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ISBN_SEPARATORS = Pattern.compile("[\\s\\-]+");
+    private static final Pattern ISBN_10 = Pattern.compile("\\d{9}[\\dX]");
+    private static final Pattern ISBN_13 = Pattern.compile("97[89]\\d{10}");
+    private static final Pattern QUOTED = Pattern.compile("^[\"\u201C](.+)[\"\u201D]$");
+    private static final Pattern TITLE_BY_AUTHOR = Pattern.compile("^(.+?)\\s+by\\s+(.+)$", Pattern.CASE_INSENSITIVE);
+    
+    public enum Type { ISBN, QUOTED_TITLE, TITLE_AND_AUTHOR, AUTHOR, FREE_TEXT }
+    
+    private BookDao bookDao;
+    
+    /**
+     * Query shapes chosen for one search
+     */
+    public static class Classification {
+        private final Type type;
+        private final String primaryQuery;
+        private final String fallbackQuery;
+        private final int minResults;
+        
+        Classification(Type type, String primaryQuery, String fallbackQuery, int minResults) {
+            this.type = type;
+            this.primaryQuery = primaryQuery;
+            this.fallbackQuery = fallbackQuery;
+            this.minResults = minResults;
+        }
+        
+        public Type getType() {
+            return type;
+        }
+        
+        public String getPrimaryQuery() {
+            return primaryQuery;
+        }
+        
+        /**
+         * Less strict query to send when the primary returns fewer than getMinResults() items
+         */
+        public String getFallbackQuery() {
+            return fallbackQuery;
+        }
+        
+        public int getMinResults() {
+            return minResults;
+        }
+        
+        /**
+         * False only for free text, where racing the fallback is worth the extra call
+         */
+        public boolean isConfident() {
+            return type != Type.FREE_TEXT;
+        }
+    }
+    
+    public QueryClassifier(BookDao bookDao) {
+        this.bookDao = bookDao;
+    }
+    
+    /**
+     * Classify a search as the user typed it (blocking: may query the books table)
+     */
+    public Classification classify(String userText) {
+        String text = userText != null ? userText.trim() : "";
+        
+        String isbn = extractIsbn(text);
+        if (isbn != null) {
+            return new Classification(Type.ISBN, QueryBuilder.buildSearchIsbnQuery(isbn),
+                    QueryBuilder.buildSearchFallbackQuery(isbn), 1);
+        }
+        
+        Matcher quoted = QUOTED.matcher(text);
+        if (quoted.matches() && !quoted.group(1).trim().isEmpty()) {
+            String title = quoted.group(1).trim();
+            return new Classification(Type.QUOTED_TITLE, QueryBuilder.buildSearchPrimaryQuery(title),
+                    QueryBuilder.buildSearchFallbackQuery(title), 1);
+        }
+        
+        Matcher titleByAuthor = TITLE_BY_AUTHOR.matcher(text);
+        if (titleByAuthor.matches()) {
+            String author = bookDao.findAuthorName(titleByAuthor.group(2));
+            if (author != null) {
+                String title = titleByAuthor.group(1).trim();
+                return new Classification(Type.TITLE_AND_AUTHOR, QueryBuilder.buildSearchEnhancedQuery(title, author),
+                        QueryBuilder.buildSearchFallbackQuery(title + " " + author), 1);
+            }
+        }
+        
+        String author = bookDao.findAuthorName(text);
+        if (author != null) {
+            return new Classification(Type.AUTHOR, QueryBuilder.buildSearchAuthorQuery(author),
+                    QueryBuilder.buildSearchFallbackQuery(text), AUTHOR_MIN_RESULTS);
+        }
+        
+        return new Classification(Type.FREE_TEXT, QueryBuilder.buildSearchPrimaryQuery(text),
+                QueryBuilder.buildSearchFallbackQuery(text), FREE_TEXT_MIN_RESULTS);
+    }
+    
+    /**
+     * ISBN digits if the whole text is a valid ISBN-10 or ISBN-13, else null
+     */
+    static String extractIsbn(String text) {
+        String candidate = ISBN_PREFIX.matcher(text).replaceFirst("");
+        candidate = ISBN_SEPARATORS.matcher(candidate).replaceAll("").toUpperCase();
+        
+        if (ISBN_13.matcher(candidate).matches() && hasValidIsbn13Checksum(candidate)) {
+            return candidate;
+        }
+        if (ISBN_10.matcher(candidate).matches() && hasValidIsbn10Checksum(candidate)) {
+            return candidate;
+        }
+        return null;
+    }
+    
+    static boolean hasValidIsbn10Checksum(String isbn) {
+        int sum = 0;
+        for (int i = 0; i < 10; i++) {
+            char c = isbn.charAt(i);
+            int value = c == 'X' ? 10 : c - '0';
+            sum += value * (10 - i);
+        }
+        return sum % 11 == 0;
+    }
+    
+    static boolean hasValidIsbn13Checksum(String isbn) {
+        int sum = 0;
+        for (int i = 0; i < 13; i++) {
+            int value = isbn.charAt(i) - '0';
+            sum += i % 2 == 0 ? value : value * 3;
+        }
+        return sum % 10 == 0;
+    }
+}
+
@@ -0,0 +1,56 @@
+package com.example.booktalk.data.repository;
+
+import androidx.annotation.NonNull;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters for speculative primary/fallback search racing
+ * - races: searches that sent both queries at once
+ * - fallbackUsed: primary had too few results, the fallback answer was used
+ * - fallbackCancelled: primary was good enough, the fallback was cancelled
+ */
+public class SearchRaceStats {
+    private final AtomicLong races = new AtomicLong();
+    private final AtomicLong fallbackUsed = new AtomicLong();
+    private final AtomicLong fallbackCancelled = new AtomicLong();
+    
+    public long getRaces() {
+        return races.get();
+    }
+    
+    public long getFallbackUsed() {
+        return fallbackUsed.get();
+    }
+    
+    public long getFallbackCancelled() {
+        return fallbackCancelled.get();
+    }
+    
+    /**
+     * Fraction of raced searches (0..1) that needed the fallback
+     */
+    public double getFallbackRate() {
+        long total = races.get();
+        return total > 0 ? (double) fallbackUsed.get() / total : 0;
+    }
+    
+    void recordRace() {
+        races.incrementAndGet();
+    }
+    
+    void recordFallbackUsed() {
+        fallbackUsed.incrementAndGet();
+    }
+    
+    void recordFallbackCancelled() {
+        fallbackCancelled.incrementAndGet();
+    }
+    
+    @NonNull
+    @Override
+    public String toString() {
+        return "races=" + getRaces() + ", fallbackUsed=" + getFallbackUsed() +
+                ", fallbackCancelled=" + getFallbackCancelled() + ", fallbackRate=" + getFallbackRate();
+    }
+}
+
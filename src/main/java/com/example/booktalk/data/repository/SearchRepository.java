@@ -4,54 +4,109 @@ import android.database.sqlite.SQLiteDatabase;
 import android.os.Handler;
 import android.os.Looper;
 import com.example.booktalk.data.dao.BookDao;
+import com.example.booktalk.data.dao.DescriptionMissDao;
 import com.example.booktalk.data.dao.SearchDao;
 import com.example.booktalk.data.db.AppDbHelper;
 import com.example.booktalk.data.model.Book;
-import com.example.booktalk.data.remote.BookMapper;
 import com.example.booktalk.data.remote.BookQualityFilter;
+import com.example.booktalk.data.remote.BookPage;
 import com.example.booktalk.data.remote.BooksApiService;
-import com.example.booktalk.data.remote.BooksResponse;
+import com.example.booktalk.data.remote.CancellationToken;
+import com.example.booktalk.data.remote.Deadline;
+import com.example.booktalk.data.remote.EnrichmentBudget;
+import com.example.booktalk.data.remote.FetchProfile;
+import com.example.booktalk.data.remote.HedgedCallExecutor;
 import com.example.booktalk.data.remote.QueryBuilder;
 import com.example.booktalk.data.remote.RetrofitClient;
+import com.example.booktalk.util.TaskScheduler;
 import retrofit2.Call;
 import retrofit2.Response;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * Repository for search operations
  */
 public class SearchRepository {
     private static final long CACHE_TTL = 7 * 24 * 60 * 60 * 1000L; // 7 days in milliseconds
+    private static final int PAGE_TARGET_BOOKS = 20;
+    private static final int PAGE_MAX_DETAIL_CALLS = 20;
+    private static final int MAX_PAGES_PER_LOAD = 3; // skip ahead when a whole page is filtered out
+    private static final long SEARCH_DEADLINE_MS = 10_000; // whole search: queries plus detail calls
+    
+    // Runs the speculative fallback query next to the primary one (one per search in flight)
+    private static final TaskScheduler RACE_CALLS = TaskScheduler.newPool("race", 2, 1);
+    private static final SearchRaceStats RACE_STATS = new SearchRaceStats();
     
     private AppDbHelper dbHelper;
     private SearchDao searchDao;
     private BookDao bookDao;
     private BooksApiService apiService;
-    private ExecutorService executorService;
+    private HedgedCallExecutor searchHedger;
+    private DescriptionEnricher descriptionEnricher;
+    private QueryClassifier queryClassifier;
+    private TaskScheduler.SerialQueue taskQueue;
     private Handler mainHandler;
+    private volatile boolean raceFallback = true;
     
     public interface SearchCallback {
         void onSearchResults(List<Book> books);
         void onError(String error);
     }
     
+    public interface PageCallback {
+        /**
+         * @param newBooks Books appended after the ones already shown (may be empty)
+         * @param hasMore Whether another page can be loaded
+         */
+        void onPageLoaded(List<Book> newBooks, boolean hasMore);
+        void onError(String error);
+    }
+    
     public SearchRepository(AppDbHelper dbHelper) {
         this.dbHelper = dbHelper;
         SQLiteDatabase db = dbHelper.getWritableDatabase();
         this.searchDao = new SearchDao(db);
         this.bookDao = new BookDao(db);
         this.apiService = RetrofitClient.getInstance().getApiService();
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.searchHedger = RetrofitClient.getInstance().getSearchHedger();
+        this.descriptionEnricher = new DescriptionEnricher(apiService, bookDao, new DescriptionMissDao(db), "SearchRepository");
+        this.queryClassifier = new QueryClassifier(bookDao);
+        this.taskQueue = TaskScheduler.getInstance().newSerialQueue();
         this.mainHandler = new Handler(Looper.getMainLooper());
     }
     
+    /**
+     * Send the fallback query together with the primary one instead of after it
+     * Saves a round trip when the primary has too few results, at the cost of an extra call otherwise
+     */
+    public void setRaceFallback(boolean raceFallback) {
+        this.raceFallback = raceFallback;
+    }
+    
+    /**
+     * How often raced searches needed the fallback (shared by all instances)
+     */
+    public static SearchRaceStats getRaceStats() {
+        return RACE_STATS;
+    }
+    
     /**
      * Search books (offline-first, async)
      */
     public void searchBooksAsync(String query, SearchCallback callback) {
+        searchBooksAsync(query, CancellationToken.none(), callback);
+    }
+    
+    /**
+     * Search books (offline-first, async), abandoning the search once the token is cancelled
+     * A cancelled search stops between steps, aborts its in-flight calls, caches nothing
+     * and never calls back
+     */
+    public void searchBooksAsync(String query, CancellationToken cancellation, SearchCallback callback) {
         if (query == null || query.trim().isEmpty()) {
             if (callback != null) {
                 mainHandler.post(() -> callback.onSearchResults(new java.util.ArrayList<>()));
@@ -62,7 +117,13 @@ public class SearchRepository {
         String normalizedQuery = query.trim().toLowerCase();
         String originalQuery = query.trim();
         
-        executorService.execute(() -> {
+        taskQueue.execute(TaskScheduler.Priority.USER_BLOCKING, () -> {
+            // Superseded while still queued: don't start at all
+            if (cancellation.isCancelled()) {
+                android.util.Log.d("SearchRepository", "Search cancelled before start: " + originalQuery);
+                return;
+            }
+            
             // Check cache first
             long cachedFetchedAt = searchDao.getSearchCacheFetchedAt(normalizedQuery);
             long now = System.currentTimeMillis();
@@ -77,201 +138,466 @@ public class SearchRepository {
                 return;
             }
             
+            // Offline: don't wait for connection timeouts, answer from the cache (even stale) right away
+            if (!RetrofitClient.getInstance().isOnline()) {
+                List<Book> cachedBooks = searchDao.getCachedSearchResults(normalizedQuery);
+                if (callback != null) {
+                    mainHandler.post(() -> {
+                        if (cachedBooks.isEmpty()) {
+                            callback.onError("No internet connection");
+                        } else {
+                            callback.onSearchResults(cachedBooks);
+                        }
+                    });
+                }
+                return;
+            }
+            
             // Fetch from API
             try {
-                String apiKey = RetrofitClient.getApiKey();
-                
-                // Step 1: Try primary strict query (intitle:)
-                String primaryQuery = QueryBuilder.buildSearchPrimaryQuery(originalQuery);
-                android.util.Log.d("SearchRepository", "Original query: " + originalQuery);
-                android.util.Log.d("SearchRepository", "Primary query (intitle:): " + primaryQuery);
+                List<Book> fetchedBooks = fetchAndCacheSearch(normalizedQuery, originalQuery,
+                        EnrichmentBudget.Priority.USER, Deadline.after(SEARCH_DEADLINE_MS), cancellation);
+                if (fetchedBooks != null) {
+                    if (callback != null) {
+                        mainHandler.post(() -> callback.onSearchResults(fetchedBooks));
+                    }
+                    return;
+                }
                 
-                Call<BooksResponse> call = apiService.searchBooks(
-                    primaryQuery,
-                    QueryBuilder.getDefaultMaxResults(),
+                // If no results, return cached (even if stale)
+                List<Book> cachedBooks = searchDao.getCachedSearchResults(normalizedQuery);
+                if (callback != null) {
+                    mainHandler.post(() -> callback.onSearchResults(cachedBooks));
+                }
+            } catch (IOException e) {
+                if (cancellation.isCancelled()) {
+                    android.util.Log.d("SearchRepository", "Search cancelled: " + originalQuery);
+                    return;
+                }
+                e.printStackTrace();
+                // Return cached results even if stale on error
+                List<Book> cachedBooks = searchDao.getCachedSearchResults(normalizedQuery);
+                if (callback != null) {
+                    mainHandler.post(() -> {
+                        if (cachedBooks.isEmpty()) {
+                            callback.onError("Search failed: " + e.getMessage());
+                        } else {
+                            callback.onSearchResults(cachedBooks);
+                        }
+                    });
+                }
+            }
+        });
+    }
+    
+    /**
+     * Re-run searches whose cache is older than maxAgeMs (background sync, blocking)
+     * Most recently fetched queries first, at most limit of them
+     * @return Number of searches refreshed
+     */
+    public int refreshStaleSearches(long maxAgeMs, int limit) throws IOException {
+        return refreshStaleSearches(maxAgeMs, limit, CancellationToken.none());
+    }
+    
+    /**
+     * Re-run stale searches until done or the token is cancelled (checked before each query)
+     * @throws InterruptedIOException If cancelled; searches refreshed before that stay cached
+     */
+    public int refreshStaleSearches(long maxAgeMs, int limit, CancellationToken cancellation) throws IOException {
+        long olderThan = System.currentTimeMillis() - maxAgeMs;
+        List<String> queries = searchDao.getSearchQueriesFetchedBefore(olderThan, limit);
+        
+        int refreshed = 0;
+        for (String query : queries) {
+            cancellation.throwIfCancelled();
+            if (fetchAndCacheSearch(query, query, EnrichmentBudget.Priority.BACKGROUND, Deadline.none(),
+                    cancellation) != null) {
+                refreshed++;
+            }
+        }
+        return refreshed;
+    }
+    
+    /**
+     * Fetch, enrich and cache search results (blocking)
+     * @param priority Detail-call budget priority (USER when someone is waiting on the results)
+     * @param deadline Applied to every call (queries and details); a partial result is not cached
+     * @param cancellation Checked between steps; cancelling it aborts every call in flight
+     * @return The books found, or null if the API returned nothing in time
+     * @throws InterruptedIOException If cancelled (nothing is cached then)
+     */
+    private List<Book> fetchAndCacheSearch(String normalizedQuery, String originalQuery, EnrichmentBudget.Priority priority,
+                                           Deadline deadline, CancellationToken cancellation) throws IOException {
+        long now = System.currentTimeMillis();
+        String apiKey = RetrofitClient.getApiKey();
+        
+        // Smaller pages and fewer detail calls on slow or metered links
+        FetchProfile profile = QueryBuilder.getFetchProfile();
+        int pageSize = profile.getPageSize();
+        android.util.Log.d("SearchRepository", "Fetch profile: " + profile);
+        
+        // Step 1: Try the query shape the classifier picked (isbn:, inauthor:, intitle:)
+        QueryClassifier.Classification classification = queryClassifier.classify(originalQuery);
+        String primaryQuery = classification.getPrimaryQuery();
+        android.util.Log.d("SearchRepository", "Original query: " + originalQuery);
+        android.util.Log.d("SearchRepository", "Primary query (" + classification.getType() + "): " + primaryQuery);
+        
+        Call<BookPage> call = apiService.searchBookPage(
+            primaryQuery,
+            pageSize,
+            QueryBuilder.getDefaultPrintType(),
+            QueryBuilder.getDefaultOrderBy(),
+            QueryBuilder.getDefaultLang(),
+            QueryBuilder.getDefaultCountry(), // "US"
+            null, // startIndex
+            QueryBuilder.getListFields(),
+            QueryBuilder.getDefaultProjection(),
+            apiKey
+        );
+        // Speculative mode: the fallback goes out now and is cancelled if the primary is good enough
+        // (free text only; confident shapes rarely need it)
+        String fallbackQuery = classification.getFallbackQuery();
+        Call<BookPage> fallbackCall = null;
+        Future<Response<BookPage>> fallbackFuture = null;
+        if (raceFallback && !classification.isConfident()) {
+            fallbackCall = apiService.searchBookPage(
+                fallbackQuery,
+                pageSize,
+                QueryBuilder.getDefaultPrintType(),
+                QueryBuilder.getDefaultOrderBy(),
+                QueryBuilder.getDefaultLang(),
+                QueryBuilder.getDefaultCountry(), // "US"
+                null,
+                QueryBuilder.getListFields(),
+                QueryBuilder.getDefaultProjection(),
+                apiKey
+            );
+            Call<BookPage> racedCall = cancellation.register(deadline.apply(fallbackCall));
+            fallbackFuture = RACE_CALLS.submit(() -> searchHedger.execute(racedCall));
+            RACE_STATS.recordRace();
+        }
+        
+        // Hedged: a duplicate is sent if this runs past the recent p90
+        Response<BookPage> response = null;
+        try {
+            response = searchHedger.execute(cancellation.register(deadline.apply(call)));
+        } catch (IOException e) {
+            if (fallbackFuture == null || cancellation.isCancelled()) {
+                throw e;
+            }
+            // The raced fallback may still answer
+            android.util.Log.w("SearchRepository", "Primary query failed, using fallback: " + e.getMessage());
+        }
+        
+        // Books already passed the basic title/author/thumbnail checks while parsing;
+        // itemCount is the raw number of items the API returned
+        List<Book> books = new java.util.ArrayList<>();
+        int itemCount = 0;
+        int totalItems = 0;
+        String pagedQuery = primaryQuery; // the API query later pages continue
+        
+        // Check if primary query returned good results
+        if (response != null && response.isSuccessful() && response.body() != null) {
+            BookPage page = response.body();
+            if (page.getItemCount() > 0) {
+                books = page.getBooks();
+                itemCount = page.getItemCount();
+                totalItems = page.getTotalItems();
+                android.util.Log.d("SearchRepository", "Primary query returned " + itemCount + " results");
+            }
+        }
+        
+        // Step 2: Fallback if primary query returned too few results
+        // MIN_RESULTS threshold: 10 for free text and authors, 1 for ISBNs and exact titles
+        final int MIN_RESULTS = classification.getMinResults();
+        if (itemCount < MIN_RESULTS) {
+            android.util.Log.d("SearchRepository", "Primary query returned too few results, trying fallback");
+            android.util.Log.d("SearchRepository", "Fallback query: " + fallbackQuery);
+            
+            if (fallbackFuture != null) {
+                response = awaitFallback(fallbackFuture);
+                RACE_STATS.recordFallbackUsed();
+            } else {
+                call = apiService.searchBookPage(
+                    fallbackQuery,
+                    pageSize,
                     QueryBuilder.getDefaultPrintType(),
                     QueryBuilder.getDefaultOrderBy(),
                     QueryBuilder.getDefaultLang(),
                     QueryBuilder.getDefaultCountry(), // "US"
-                    null, // startIndex
+                    null,
+                    QueryBuilder.getListFields(),
+                    QueryBuilder.getDefaultProjection(),
                     apiKey
                 );
-                Response<BooksResponse> response = call.execute();
-                
-                List<Book> books = new java.util.ArrayList<>();
+                response = searchHedger.execute(cancellation.register(deadline.apply(call)));
+            }
+            
+            if (response.isSuccessful() && response.body() != null) {
+                BookPage page = response.body();
+                if (page.getItemCount() > 0) {
+                    books = page.getBooks();
+                    itemCount = page.getItemCount();
+                    totalItems = page.getTotalItems();
+                    pagedQuery = fallbackQuery;
+                    android.util.Log.d("SearchRepository", "Fallback query returned " + itemCount + " results");
+                }
+            }
+        } else if (fallbackFuture != null) {
+            // Primary is good enough: stop the fallback as soon as we know
+            fallbackCall.cancel();
+            fallbackFuture.cancel(true);
+            RACE_STATS.recordFallbackCancelled();
+        }
+        
+        if (fallbackFuture != null) {
+            android.util.Log.d("SearchRepository", "Race stats: " + RACE_STATS);
+        }
+        
+        // Step 3: Apply strict completeness filtering and ranking by ratings
+        cancellation.throwIfCancelled();
+        if (itemCount > 0) {
+            android.util.Log.d("SearchRepository", "Initial results: " + itemCount + " books");
+            
+            // Step 3a: Immediate filter - items missing title/author/thumbnail were
+            // dropped by StreamingBookDecoder while the response was parsed
+            List<Book> candidatesWithBasicData = books;
+            
+            android.util.Log.d("SearchRepository", "After basic filter (title/author/thumbnail): " + candidatesWithBasicData.size() + " books");
+            
+            // Step 3a': Collapse editions of the same work (paperback, ebook, reprints) into one candidate
+            List<Book> distinctCandidates = BookQualityFilter.dedupeEditions(candidatesWithBasicData);
+            android.util.Log.d("SearchRepository", "After edition dedup: " + distinctCandidates.size() + " books");
+            
+            // Step 3b: Rank by ratings BEFORE fetching details (to limit detail API calls)
+            List<Book> rankedCandidates = BookQualityFilter.rankBooksByRatings(distinctCandidates);
+            
+            // Step 3c: Fetch details for books missing description (top K candidates, K=30 on a good link)
+            // Step 3d: Apply STRICT completeness filter (all 4 fields required)
+            int maxDetailCalls = profile.getSearchDetailCalls(); // More for search since user is actively searching
+            int targetCompleteBooks = 20; // Show top 20 complete books
+            
+            DescriptionEnricher.Result enrichment = descriptionEnricher.enrich(
+                rankedCandidates, targetCompleteBooks, maxDetailCalls, priority, deadline, cancellation);
+            cancellation.throwIfCancelled();
+            List<Book> completeBooks = enrichment.getCompleteBooks();
+            
+            android.util.Log.d("SearchRepository", "Complete books found: " + completeBooks.size() + " (made " + enrichment.getDetailCallsMade() + " detail API calls, avoided " + enrichment.getLocalDescriptionsUsed() + " with local descriptions and " + enrichment.getKnownMissesSkipped() + " known misses, " + enrichment.getElapsedMs() + " ms)");
+            
+            // Step 3e: Final ranking by ratings (in case fetching details changed order)
+            List<Book> finalRankedBooks = BookQualityFilter.rankBooksByRatings(completeBooks);
+            
+            // Step 3f: Take top 20 complete books (ranked by ratings)
+            int topN = 20;
+            List<Book> topBooks = finalRankedBooks.size() > topN 
+                ? finalRankedBooks.subList(0, topN) 
+                : finalRankedBooks;
+            
+            android.util.Log.d("SearchRepository", "Final top " + topBooks.size() + " complete books (ranked by ratings)");
+            
+            List<Book> finalBooks = topBooks;
                 
-                // Check if primary query returned good results
-                if (response.isSuccessful() && response.body() != null) {
-                    BooksResponse booksResponse = response.body();
-                    if (booksResponse.getItems() != null && !booksResponse.getItems().isEmpty()) {
-                        books = BookMapper.toBookList(booksResponse.getItems());
-                        android.util.Log.d("SearchRepository", "Primary query returned " + books.size() + " results");
-                    }
+            // Upsert complete books to cache (with description)
+            SQLiteDatabase db = dbHelper.getWritableDatabase();
+            BookDao bookDao = new BookDao(db);
+            SearchDao searchDao = new SearchDao(db);
+            
+            for (Book book : finalBooks) {
+                bookDao.upsertBook(book);
+            }
+            
+            // Out of time: show what we have, but don't let a partial list stand in for the query for a week
+            if (enrichment.isDeadlineReached()) {
+                android.util.Log.d("SearchRepository", "Deadline reached, returning " + finalBooks.size() + " books uncached");
+                return finalBooks.isEmpty() ? null : finalBooks;
+            }
+            
+            // Clear old search cache
+            searchDao.deleteSearchCacheBooks(normalizedQuery);
+            
+            // Insert new search cache with sort_order (ranked by ratings)
+            // Candidates ranked below the top 20 are not kept: the next page load re-reads page 1
+            // (usually a 304 from the HTTP cache) and shows them before moving on
+            int nextStart = enrichment.getUnusedCandidates() > 0
+                    ? 0
+                    : nextStartIndex(0, itemCount, totalItems, pageSize);
+            searchDao.upsertSearchCache(normalizedQuery, now);
+            searchDao.updateSearchCachePaging(normalizedQuery, pagedQuery, nextStart, totalItems);
+            for (int i = 0; i < finalBooks.size(); i++) {
+                searchDao.insertSearchCacheBook(normalizedQuery, finalBooks.get(i).getBookId(), i);
+            }
+            
+            return finalBooks;
+        }
+        
+        return null;
+    }
+    
+    /**
+     * Load the next API page of a search and append its complete books to the cached result
+     * Earlier pages in search_cache_books are left untouched; new rows continue their sort_order
+     */
+    public void loadNextPageAsync(String query, PageCallback callback) {
+        loadNextPageAsync(query, CancellationToken.none(), callback);
+    }
+    
+    /**
+     * Load the next API page, abandoning it (no rows appended, no callback) once the token is cancelled
+     */
+    public void loadNextPageAsync(String query, CancellationToken cancellation, PageCallback callback) {
+        if (query == null || query.trim().isEmpty()) {
+            return;
+        }
+        
+        String normalizedQuery = query.trim().toLowerCase();
+        
+        taskQueue.execute(TaskScheduler.Priority.USER_VISIBLE, () -> {
+            if (cancellation.isCancelled()) {
+                return;
+            }
+            
+            SearchDao.PagingState paging = searchDao.getSearchCachePaging(normalizedQuery);
+            if (paging == null || !paging.hasMore()) {
+                if (callback != null) {
+                    mainHandler.post(() -> callback.onPageLoaded(new java.util.ArrayList<>(), false));
+                }
+                return;
+            }
+            
+            if (!RetrofitClient.getInstance().isOnline()) {
+                if (callback != null) {
+                    mainHandler.post(() -> callback.onError("No internet connection"));
                 }
+                return;
+            }
+            
+            Deadline deadline = Deadline.after(SEARCH_DEADLINE_MS);
+            try {
+                List<String> cachedIds = searchDao.getSearchCacheBookIds(normalizedQuery);
+                java.util.Set<String> seenIds = new java.util.HashSet<>(cachedIds);
+                List<Book> appended = new java.util.ArrayList<>();
+                int startIndex = paging.getNextStartIndex();
+                int totalItems = paging.getTotalItems();
+                int pagesLoaded = 0;
                 
-                // Step 2: Fallback if primary query returned too few results
-                // MIN_RESULTS threshold: if less than 10, try fallback
-                final int MIN_RESULTS = 10;
-                if (books.size() < MIN_RESULTS) {
-                    android.util.Log.d("SearchRepository", "Primary query returned too few results, trying fallback");
-                    String fallbackQuery = QueryBuilder.buildSearchFallbackQuery(originalQuery);
-                    android.util.Log.d("SearchRepository", "Fallback query: " + fallbackQuery);
-                    
-                    call = apiService.searchBooks(
-                        fallbackQuery,
-                        QueryBuilder.getDefaultMaxResults(),
+                while (appended.isEmpty() && startIndex >= 0 && pagesLoaded < MAX_PAGES_PER_LOAD) {
+                    FetchProfile profile = QueryBuilder.getFetchProfile();
+                    int pageSize = profile.getPageSize();
+                    Call<BookPage> call = apiService.searchBookPage(
+                        paging.getApiQuery(),
+                        pageSize,
                         QueryBuilder.getDefaultPrintType(),
                         QueryBuilder.getDefaultOrderBy(),
                         QueryBuilder.getDefaultLang(),
-                        QueryBuilder.getDefaultCountry(), // "US"
-                        null,
-                        apiKey
+                        QueryBuilder.getDefaultCountry(),
+                        startIndex > 0 ? startIndex : null, // page 1 under the first search's URL (cached)
+                        QueryBuilder.getListFields(),
+                        QueryBuilder.getDefaultProjection(),
+                        RetrofitClient.getApiKey()
                     );
-                    response = call.execute();
+                    Response<BookPage> response = searchHedger.execute(cancellation.register(deadline.apply(call)));
+                    pagesLoaded++;
                     
-                    if (response.isSuccessful() && response.body() != null) {
-                        BooksResponse booksResponse = response.body();
-                        if (booksResponse.getItems() != null && !booksResponse.getItems().isEmpty()) {
-                            books = BookMapper.toBookList(booksResponse.getItems());
-                            android.util.Log.d("SearchRepository", "Fallback query returned " + books.size() + " results");
-                        }
+                    if (!response.isSuccessful() || response.body() == null) {
+                        break;
                     }
-                }
-                
-                // Step 3: Apply strict completeness filtering and ranking by ratings
-                if (!books.isEmpty()) {
-                    android.util.Log.d("SearchRepository", "Initial results: " + books.size() + " books");
                     
-                    // Step 3a: Immediate filter - drop items missing title/author/thumbnail
-                    List<Book> candidatesWithBasicData = new java.util.ArrayList<>();
-                    for (Book book : books) {
-                        // Must have title
-                        if (book.getTitle() == null || book.getTitle().trim().isEmpty()) {
-                            continue;
-                        }
-                        // Must have author
-                        if (book.getAuthor() == null || book.getAuthor().trim().isEmpty() || 
-                            book.getAuthor().equals("Unknown Author")) {
-                            continue;
-                        }
-                        // Must have thumbnail
-                        if (book.getCoverUrl() == null || book.getCoverUrl().trim().isEmpty()) {
-                            continue;
-                        }
-                        candidatesWithBasicData.add(book);
+                    BookPage page = response.body();
+                    if (page.getTotalItems() > 0) {
+                        totalItems = page.getTotalItems();
                     }
                     
-                    android.util.Log.d("SearchRepository", "After basic filter (title/author/thumbnail): " + candidatesWithBasicData.size() + " books");
-                    
-                    // Step 3b: Rank by ratings BEFORE fetching details (to limit detail API calls)
-                    List<Book> rankedCandidates = BookQualityFilter.rankBooksByRatings(candidatesWithBasicData);
-                    
-                    // Step 3c: Fetch details for books missing description (limit to top K=30 candidates for search)
-                    int maxDetailCalls = 30; // More for search since user is actively searching
-                    int detailCallsMade = 0;
-                    int targetCompleteBooks = 20; // Show top 20 complete books
-                    
-                    List<Book> completeBooks = new java.util.ArrayList<>();
-                    
-                    for (Book book : rankedCandidates) {
-                        // If we already have enough complete books, stop
-                        if (completeBooks.size() >= targetCompleteBooks) {
-                            break;
-                        }
-                        
-                        // Check if description is missing
-                        boolean needsDescription = (book.getDescription() == null || book.getDescription().trim().isEmpty());
-                        
-                        if (needsDescription && detailCallsMade < maxDetailCalls) {
-                            // Fetch detail API to get description
-                            try {
-                                Call<com.example.booktalk.data.remote.VolumeResponse> detailCall = 
-                                    apiService.getBookDetails(book.getBookId(), QueryBuilder.getDefaultCountry(), apiKey);
-                                Response<com.example.booktalk.data.remote.VolumeResponse> detailResponse = detailCall.execute();
-                                
-                                if (detailResponse.isSuccessful() && detailResponse.body() != null) {
-                                    com.example.booktalk.data.remote.VolumeResponse volumeResponse = detailResponse.body();
-                                    if (volumeResponse.getVolumeInfo() != null) {
-                                        String description = volumeResponse.getVolumeInfo().getDescription();
-                                        if (description != null && !description.trim().isEmpty()) {
-                                            book.setDescription(description);
-                                        }
-                                    }
-                                }
-                                detailCallsMade++;
-                            } catch (IOException e) {
-                                android.util.Log.w("SearchRepository", "Failed to fetch detail for " + book.getBookId() + ": " + e.getMessage());
-                            }
-                        }
-                        
-                        // Step 3d: Apply STRICT completeness filter (all 4 fields required)
-                        if (BookQualityFilter.isCompleteBook(book)) {
-                            completeBooks.add(book);
+                    // Pages overlap now and then, and a resumed page repeats the books already shown;
+                    // dedupe first so editions of a shown book go with it
+                    List<Book> candidates = new java.util.ArrayList<>();
+                    for (Book book : BookQualityFilter.dedupeEditions(page.getBooks())) {
+                        if (seenIds.add(book.getBookId())) {
+                            candidates.add(book);
                         }
                     }
                     
-                    android.util.Log.d("SearchRepository", "Complete books found: " + completeBooks.size() + " (made " + detailCallsMade + " detail API calls)");
+                    List<Book> rankedCandidates = BookQualityFilter.rankBooksByRatings(candidates);
+                    DescriptionEnricher.Result result =
+                            descriptionEnricher.enrich(rankedCandidates, PAGE_TARGET_BOOKS,
+                                    Math.min(PAGE_MAX_DETAIL_CALLS, profile.getSearchDetailCalls()),
+                                    EnrichmentBudget.Priority.USER, deadline, cancellation);
+                    cancellation.throwIfCancelled();
+                    appended.addAll(result.getCompleteBooks());
                     
-                    // Step 3e: Final ranking by ratings (in case fetching details changed order)
-                    List<Book> finalRankedBooks = BookQualityFilter.rankBooksByRatings(completeBooks);
-                    
-                    // Step 3f: Take top 20 complete books (ranked by ratings)
-                    int topN = 20;
-                    List<Book> topBooks = finalRankedBooks.size() > topN 
-                        ? finalRankedBooks.subList(0, topN) 
-                        : finalRankedBooks;
-                    
-                    android.util.Log.d("SearchRepository", "Final top " + topBooks.size() + " complete books (ranked by ratings)");
-                    
-                    // Make final for lambda
-                    final List<Book> finalBooks = topBooks;
-                        
-                    // Upsert complete books to cache (with description)
-                    SQLiteDatabase db = dbHelper.getWritableDatabase();
-                    BookDao bookDao = new BookDao(db);
-                    SearchDao searchDao = new SearchDao(db);
-                    
-                    for (Book book : finalBooks) {
-                        bookDao.upsertBook(book);
+                    // Out of time: keep startIndex on this page so the next load finishes it
+                    // (books appended now are skipped then as already seen)
+                    if (result.isDeadlineReached()) {
+                        break;
                     }
                     
-                    // Clear old search cache
-                    searchDao.deleteSearchCacheBooks(normalizedQuery);
+                    android.util.Log.d("SearchRepository", "Page at " + startIndex + ": " + page.getItemCount() +
+                            " items, " + result.getCompleteBooks().size() + " complete (" + result.getDetailCallsMade() + " detail calls)");
                     
-                    // Insert new search cache with sort_order (ranked by ratings)
-                    searchDao.upsertSearchCache(normalizedQuery, now);
-                    for (int i = 0; i < finalBooks.size(); i++) {
-                        searchDao.insertSearchCacheBook(normalizedQuery, finalBooks.get(i).getBookId(), i);
+                    // Enough complete books before the end of the page: stay on it, the rest come next time
+                    if (result.getUnusedCandidates() > 0) {
+                        break;
                     }
                     
-                    if (callback != null) {
-                        mainHandler.post(() -> callback.onSearchResults(finalBooks));
-                    }
-                    return;
+                    startIndex = nextStartIndex(startIndex, page.getItemCount(), totalItems, pageSize);
                 }
                 
-                // If no results, return cached (even if stale)
-                List<Book> cachedBooks = searchDao.getCachedSearchResults(normalizedQuery);
+                // Append after the existing rows
+                for (Book book : appended) {
+                    bookDao.upsertBook(book);
+                }
+                for (int i = 0; i < appended.size(); i++) {
+                    searchDao.insertSearchCacheBook(normalizedQuery, appended.get(i).getBookId(), cachedIds.size() + i);
+                }
+                searchDao.updateSearchCachePaging(normalizedQuery, paging.getApiQuery(), startIndex, totalItems);
+                
+                boolean hasMore = startIndex >= 0;
                 if (callback != null) {
-                    mainHandler.post(() -> callback.onSearchResults(cachedBooks));
+                    mainHandler.post(() -> callback.onPageLoaded(appended, hasMore));
                 }
             } catch (IOException e) {
-                e.printStackTrace();
-                // Return cached results even if stale on error
-                List<Book> cachedBooks = searchDao.getCachedSearchResults(normalizedQuery);
+                if (cancellation.isCancelled()) {
+                    android.util.Log.d("SearchRepository", "Page load cancelled: " + normalizedQuery);
+                    return;
+                }
+                android.util.Log.w("SearchRepository", "Failed to load next page: " + e.getMessage());
                 if (callback != null) {
-                    mainHandler.post(() -> {
-                        if (cachedBooks.isEmpty()) {
-                            callback.onError("Search failed: " + e.getMessage());
-                        } else {
-                            callback.onSearchResults(cachedBooks);
-                        }
-                    });
+                    mainHandler.post(() -> callback.onError("Loading more results failed: " + e.getMessage()));
                 }
             }
         });
     }
     
+    /**
+     * Wait for the raced fallback call, unwrapping its failure
+     */
+    private Response<BookPage> awaitFallback(Future<Response<BookPage>> fallbackFuture) throws IOException {
+        try {
+            return fallbackFuture.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the fallback query");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+    
+    /**
+     * startIndex of the page after this one, or -1 if this was the last
+     * @param pageSize maxResults the page was requested with
+     */
+    private int nextStartIndex(int startIndex, int itemCount, int totalItems, int pageSize) {
+        int next = startIndex + pageSize;
+        // A short page means the API ran out, whatever totalItems claims
+        if (itemCount < pageSize || (totalItems > 0 && next >= totalItems)) {
+            return -1;
+        }
+        return next;
+    }
+    
     /**
      * Synchronous search (for backward compatibility, but should not be used on main thread)
      */
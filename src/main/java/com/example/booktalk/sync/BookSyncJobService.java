@@ -0,0 +1,91 @@
+package com.example.booktalk.sync;
+
+import android.app.job.JobParameters;
+import android.app.job.JobService;
+import com.example.booktalk.data.dao.DescriptionMissDao;
+import com.example.booktalk.data.db.AppDbHelper;
+import com.example.booktalk.data.remote.CancellationToken;
+import com.example.booktalk.data.remote.RetrofitClient;
+import com.example.booktalk.data.repository.DescriptionEnricher;
+import com.example.booktalk.data.repository.HomeRepository;
+import com.example.booktalk.data.repository.SearchRepository;
+import com.example.booktalk.util.TaskScheduler;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JobService behind SyncScheduler
+ * Refreshes run one at a time in the scheduler's background lane; a failed refresh is
+ * rescheduled by the platform with its backoff policy. onStopJob cancels the job's work,
+ * whether it is still queued or already running
+ */
+public class BookSyncJobService extends JobService {
+    private static final TaskScheduler.SerialQueue SYNC_QUEUE = TaskScheduler.getInstance().newSerialQueue();
+    
+    // Queued or running jobs by job ID, so onStopJob can reach them
+    private static final Map<Integer, CancellationToken> ACTIVE_JOBS = new ConcurrentHashMap<>();
+    
+    @Override
+    public boolean onStartJob(JobParameters params) {
+        // The process may have been started just for this job
+        RetrofitClient.init(this);
+        
+        int kind = params.getExtras().getInt(SyncScheduler.EXTRA_KIND, SyncScheduler.KIND_COORDINATOR);
+        if (kind == SyncScheduler.KIND_COORDINATOR) {
+            SyncScheduler.enqueueRefreshJobs(this);
+            return false;
+        }
+        
+        int jobId = params.getJobId();
+        CancellationToken cancellation = new CancellationToken();
+        ACTIVE_JOBS.put(jobId, cancellation);
+        
+        SYNC_QUEUE.execute(TaskScheduler.Priority.BACKGROUND, () -> {
+            boolean needsReschedule = false;
+            try {
+                cancellation.throwIfCancelled();
+                AppDbHelper dbHelper = AppDbHelper.getInstance(this);
+                if (kind == SyncScheduler.KIND_CATEGORY) {
+                    int categoryId = params.getExtras().getInt(SyncScheduler.EXTRA_CATEGORY_ID);
+                    boolean refreshed = new HomeRepository(dbHelper)
+                            .refreshCategoryIfOlderThan(categoryId, SyncScheduler.REFRESH_AHEAD_AGE, cancellation);
+                    android.util.Log.d("BookSyncJobService", "Category " + categoryId + (refreshed ? " refreshed" : " already fresh"));
+                } else {
+                    int refreshed = new SearchRepository(dbHelper)
+                            .refreshStaleSearches(SyncScheduler.REFRESH_AHEAD_AGE, SyncScheduler.MAX_SEARCHES_PER_SYNC,
+                                    cancellation);
+                    android.util.Log.d("BookSyncJobService", "Refreshed " + refreshed + " cached searches");
+                    
+                    // Housekeeping: drop expired description misses
+                    new DescriptionMissDao(dbHelper.getWritableDatabase())
+                            .deleteCheckedBefore(System.currentTimeMillis() - DescriptionEnricher.NEGATIVE_CACHE_TTL);
+                }
+            } catch (IOException e) {
+                if (cancellation.isCancelled()) {
+                    // onStopJob already answered for this job; the platform reschedules it
+                    android.util.Log.d("BookSyncJobService", "Sync job " + jobId + " stopped");
+                    return;
+                }
+                android.util.Log.w("BookSyncJobService", "Sync job failed: " + e.getMessage());
+                needsReschedule = true;
+            } finally {
+                ACTIVE_JOBS.remove(jobId, cancellation);
+            }
+            android.util.Log.d("BookSyncJobService", TaskScheduler.describeAll());
+            jobFinished(params, needsReschedule);
+        });
+        return true;
+    }
+    
+    @Override
+    public boolean onStopJob(JobParameters params) {
+        // Constraints no longer met (device woke up, unplugged, left Wi-Fi): stop now, try again later
+        CancellationToken cancellation = ACTIVE_JOBS.remove(params.getJobId());
+        if (cancellation != null) {
+            cancellation.cancel();
+        }
+        return true;
+    }
+}
+
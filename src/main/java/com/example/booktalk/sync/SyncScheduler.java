@@ -0,0 +1,98 @@
+package com.example.booktalk.sync;
+
+import android.app.job.JobInfo;
+import android.app.job.JobScheduler;
+import android.content.ComponentName;
+import android.content.Context;
+import android.os.PersistableBundle;
+import com.example.booktalk.data.dao.HomeDao;
+import com.example.booktalk.data.db.AppDbHelper;
+import com.example.booktalk.data.model.Category;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules background refresh of home categories and the search cache
+ * A periodic coordinator job fans out into one job per category plus one for
+ * the search cache, staggered so they don't all hit the API at once. Every job
+ * waits for idle + charging + unmetered network
+ */
+public class SyncScheduler {
+    static final String EXTRA_KIND = "kind";
+    static final String EXTRA_CATEGORY_ID = "category_id";
+    static final int KIND_COORDINATOR = 0;
+    static final int KIND_CATEGORY = 1;
+    static final int KIND_SEARCH_CACHE = 2;
+    
+    // Refresh ahead of the 7-day cache TTL so the home screen opens on a warm cache
+    static final long REFRESH_AHEAD_AGE = TimeUnit.DAYS.toMillis(5);
+    static final int MAX_SEARCHES_PER_SYNC = 10;
+    
+    private static final int JOB_ID_COORDINATOR = 1000;
+    private static final int JOB_ID_SEARCH_CACHE = 1001;
+    private static final int JOB_ID_CATEGORY_BASE = 2000;
+    private static final long SYNC_PERIOD = TimeUnit.HOURS.toMillis(12);
+    private static final long STAGGER_DELAY = TimeUnit.MINUTES.toMillis(5);
+    
+    /**
+     * Schedule the periodic coordinator (no-op if already scheduled)
+     */
+    public static void schedulePeriodicSync(Context context) {
+        JobScheduler jobScheduler = context.getSystemService(JobScheduler.class);
+        if (jobScheduler == null || jobScheduler.getPendingJob(JOB_ID_COORDINATOR) != null) {
+            return;
+        }
+        
+        PersistableBundle extras = new PersistableBundle();
+        extras.putInt(EXTRA_KIND, KIND_COORDINATOR);
+        
+        JobInfo job = constrained(context, JOB_ID_COORDINATOR, extras)
+                .setPeriodic(SYNC_PERIOD)
+                .setPersisted(true)
+                .build();
+        jobScheduler.schedule(job);
+        android.util.Log.d("SyncScheduler", "Scheduled periodic sync every " + TimeUnit.MILLISECONDS.toHours(SYNC_PERIOD) + " h");
+    }
+    
+    /**
+     * Enqueue one staggered job per category, then the search cache job (called by the coordinator)
+     */
+    static void enqueueRefreshJobs(Context context) {
+        JobScheduler jobScheduler = context.getSystemService(JobScheduler.class);
+        if (jobScheduler == null) {
+            return;
+        }
+        
+        AppDbHelper dbHelper = AppDbHelper.getInstance(context);
+        List<Category> categories = new HomeDao(dbHelper.getReadableDatabase()).getAllCategories();
+        
+        int slot = 0;
+        for (Category category : categories) {
+            PersistableBundle extras = new PersistableBundle();
+            extras.putInt(EXTRA_KIND, KIND_CATEGORY);
+            extras.putInt(EXTRA_CATEGORY_ID, category.getCategoryId());
+            
+            jobScheduler.schedule(constrained(context, JOB_ID_CATEGORY_BASE + category.getCategoryId(), extras)
+                    .setMinimumLatency(slot * STAGGER_DELAY)
+                    .build());
+            slot++;
+        }
+        
+        PersistableBundle extras = new PersistableBundle();
+        extras.putInt(EXTRA_KIND, KIND_SEARCH_CACHE);
+        jobScheduler.schedule(constrained(context, JOB_ID_SEARCH_CACHE, extras)
+                .setMinimumLatency(slot * STAGGER_DELAY)
+                .build());
+        
+        android.util.Log.d("SyncScheduler", "Enqueued " + categories.size() + " category jobs and the search cache job");
+    }
+    
+    private static JobInfo.Builder constrained(Context context, int jobId, PersistableBundle extras) {
+        return new JobInfo.Builder(jobId, new ComponentName(context, BookSyncJobService.class))
+                .setRequiresDeviceIdle(true)
+                .setRequiresCharging(true)
+                .setRequiredNetworkType(JobInfo.NETWORK_TYPE_UNMETERED)
+                .setExtras(extras);
+    }
+}
+
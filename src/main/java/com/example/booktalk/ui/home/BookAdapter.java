@@ -9,6 +9,7 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.bumptech.glide.Glide;
 import com.example.booktalk.R;
 import com.example.booktalk.data.model.Book;
+import com.example.booktalk.data.remote.QueryBuilder;
 import java.util.List;
 
 /**
@@ -69,7 +70,8 @@ public class BookAdapter extends RecyclerView.Adapter<BookAdapter.BookViewHolder
         public void bind(Book book) {
             if (book.getCoverUrl() != null && !book.getCoverUrl().isEmpty()) {
                 Glide.with(itemView.getContext())
-                        .load(book.getCoverUrl())
+                        // Small covers on slow or metered links
+                        .load(QueryBuilder.getFetchProfile().coverUrl(book.getCoverUrl()))
                         .placeholder(R.drawable.ic_launcher_background)
                         .into(ivCover);
             } else {
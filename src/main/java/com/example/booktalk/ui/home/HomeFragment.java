@@ -39,7 +39,8 @@ public class HomeFragment extends Fragment {
         homeController = new HomeController(requireContext());
         
         rvCategories = view.findViewById(R.id.rvCategories);
-        rvCategories.setLayoutManager(new LinearLayoutManager(requireContext()));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(requireContext());
+        rvCategories.setLayoutManager(layoutManager);
         
         adapter = new CategoryAdapter(new ArrayList<>(), book -> {
             Intent intent = new Intent(requireContext(), BookDetailActivity.class);
@@ -48,10 +49,21 @@ public class HomeFragment extends Fragment {
         });
         rvCategories.setAdapter(adapter);
         
+        // Stale rows the user can see are refreshed before the ones further down
+        rvCategories.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+                if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+                    reportVisibleCategories(layoutManager);
+                }
+            }
+        });
+        
         homeController.loadCategories(new HomeController.Callback() {
             @Override
             public void onCategoriesLoaded(List<Category> categories) {
                 adapter.updateCategories(categories);
+                rvCategories.post(() -> reportVisibleCategories(layoutManager));
             }
             
             @Override
@@ -60,5 +72,24 @@ public class HomeFragment extends Fragment {
             }
         });
     }
+    
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        homeController.detach();
+    }
+    
+    private void reportVisibleCategories(LinearLayoutManager layoutManager) {
+        int first = layoutManager.findFirstVisibleItemPosition();
+        int last = layoutManager.findLastVisibleItemPosition();
+        if (first == RecyclerView.NO_POSITION) {
+            return;
+        }
+        List<Integer> visibleIds = new ArrayList<>();
+        for (int position = first; position <= last && position < adapter.getItemCount(); position++) {
+            visibleIds.add(adapter.getCategory(position).getCategoryId());
+        }
+        homeController.setVisibleCategories(visibleIds);
+    }
 }
 
@@ -11,13 +11,16 @@ import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
 import com.example.booktalk.R;
 import com.example.booktalk.data.db.AppDbHelper;
+import com.example.booktalk.data.remote.RetrofitClient;
 import com.example.booktalk.data.repository.HomeRepository;
+import com.example.booktalk.sync.SyncScheduler;
 import com.example.booktalk.ui.auth.LoginActivity;
 import com.example.booktalk.ui.home.HomeFragment;
 import com.example.booktalk.ui.mybooks.MyBooksFragment;
 import com.example.booktalk.ui.search.SearchFragment;
 import com.example.booktalk.ui.settings.SettingsFragment;
 import com.example.booktalk.util.Prefs;
+import com.example.booktalk.util.TaskScheduler;
 
 /**
  * Main Activity with Custom Pill-shaped Bottom Navigation
@@ -42,11 +45,20 @@ public class MainActivity extends AppCompatActivity {
             return;
         }
         
+        // Set up the shared HTTP client (disk cache) before any repository uses it
+        RetrofitClient.init(this);
+        
+        // Pre-resolve and pre-connect to the API host while the UI is being set up
+        TaskScheduler.getInstance().execute(TaskScheduler.Priority.USER_VISIBLE, () -> RetrofitClient.getInstance().warmUp());
+        
         // Seed categories on first launch
-        AppDbHelper dbHelper = new AppDbHelper(this);
+        AppDbHelper dbHelper = AppDbHelper.getInstance(this);
         HomeRepository homeRepository = new HomeRepository(dbHelper);
         homeRepository.seedCategories();
         
+        // Keep categories and cached searches warm in the background
+        SyncScheduler.schedulePeriodicSync(this);
+        
         // Setup custom bottom navigation
         setupCustomBottomNav();
         
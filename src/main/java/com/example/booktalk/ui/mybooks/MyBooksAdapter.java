@@ -11,6 +11,7 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.bumptech.glide.Glide;
 import com.example.booktalk.R;
 import com.example.booktalk.data.model.Book;
+import com.example.booktalk.data.remote.QueryBuilder;
 import com.example.booktalk.ui.detail.BookDetailActivity;
 import com.example.booktalk.util.DateParser;
 import java.util.List;
@@ -30,6 +31,20 @@ public class MyBooksAdapter extends RecyclerView.Adapter<MyBooksAdapter.BookView
         notifyDataSetChanged();
     }
     
+    /**
+     * Append books after the current ones (next search page)
+     */
+    public void appendBooks(List<Book> moreBooks) {
+        if (moreBooks == null || moreBooks.isEmpty()) {
+            return;
+        }
+        List<Book> combined = new java.util.ArrayList<>(books);
+        combined.addAll(moreBooks);
+        int start = books.size();
+        this.books = combined;
+        notifyItemRangeInserted(start, moreBooks.size());
+    }
+    
     @NonNull
     @Override
     public BookViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -91,7 +106,8 @@ public class MyBooksAdapter extends RecyclerView.Adapter<MyBooksAdapter.BookView
             
             if (book.getCoverUrl() != null && !book.getCoverUrl().isEmpty()) {
                 Glide.with(itemView.getContext())
-                        .load(book.getCoverUrl())
+                        // Small covers on slow or metered links
+                        .load(QueryBuilder.getFetchProfile().coverUrl(book.getCoverUrl()))
                         .placeholder(R.drawable.ic_launcher_background)
                         .fitCenter()
                         .into(ivCover);
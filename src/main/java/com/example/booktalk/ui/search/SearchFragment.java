@@ -2,6 +2,8 @@ package com.example.booktalk.ui.search;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.text.Editable;
 import android.text.TextWatcher;
 import android.view.LayoutInflater;
@@ -24,10 +26,18 @@ import java.util.List;
  * Search Fragment (MVC)
  */
 public class SearchFragment extends Fragment {
+    private static final int PREFETCH_DISTANCE = 5; // rows from the end that trigger the next page
+    private static final long SEARCH_DEBOUNCE_MS = 300; // wait for a pause in typing before searching
+    
     private EditText etSearch;
     private RecyclerView rvResults;
     private SearchController searchController;
     private MyBooksAdapter adapter;
+    private String currentQuery;
+    private boolean loadingMore;
+    private boolean hasMore;
+    private final Handler debounceHandler = new Handler(Looper.getMainLooper());
+    private Runnable pendingSearch;
     
     @Nullable
     @Override
@@ -43,11 +53,27 @@ public class SearchFragment extends Fragment {
         
         etSearch = view.findViewById(R.id.etSearch);
         rvResults = view.findViewById(R.id.rvResults);
-        rvResults.setLayoutManager(new androidx.recyclerview.widget.LinearLayoutManager(requireContext()));
+        androidx.recyclerview.widget.LinearLayoutManager layoutManager =
+                new androidx.recyclerview.widget.LinearLayoutManager(requireContext());
+        rvResults.setLayoutManager(layoutManager);
         
         adapter = new MyBooksAdapter(new ArrayList<>());
         rvResults.setAdapter(adapter);
         
+        // Prefetch the next page before the user reaches the end of the list
+        rvResults.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy <= 0 || loadingMore || !hasMore || currentQuery == null) {
+                    return;
+                }
+                int lastVisible = layoutManager.findLastVisibleItemPosition();
+                if (lastVisible >= adapter.getItemCount() - PREFETCH_DISTANCE) {
+                    loadNextPage();
+                }
+            }
+        });
+        
         etSearch.addTextChangedListener(new TextWatcher() {
             @Override
             public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
@@ -55,18 +81,27 @@ public class SearchFragment extends Fragment {
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
                 String query = s.toString().trim();
+                if (pendingSearch != null) {
+                    debounceHandler.removeCallbacks(pendingSearch);
+                    pendingSearch = null;
+                }
+                if (query.equals(currentQuery)) {
+                    // Only whitespace changed
+                    return;
+                }
+                
+                // Whatever was running is for a query the user has typed past
+                searchController.cancelSearch();
+                currentQuery = null;
+                loadingMore = false;
+                hasMore = false;
+                
                 if (query.length() >= 2) {
-                    searchController.search(query, new SearchController.Callback() {
-                        @Override
-                        public void onSearchResults(List<Book> books) {
-                            adapter.updateBooks(books);
-                        }
-                        
-                        @Override
-                        public void onError(String error) {
-                            // Show error
-                        }
-                    });
+                    pendingSearch = () -> {
+                        pendingSearch = null;
+                        search(query);
+                    };
+                    debounceHandler.postDelayed(pendingSearch, SEARCH_DEBOUNCE_MS);
                 } else {
                     adapter.updateBooks(new ArrayList<>());
                 }
@@ -76,5 +111,59 @@ public class SearchFragment extends Fragment {
             public void afterTextChanged(Editable s) {}
         });
     }
+    
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        if (pendingSearch != null) {
+            debounceHandler.removeCallbacks(pendingSearch);
+            pendingSearch = null;
+        }
+        searchController.cancelSearch();
+    }
+    
+    private void search(String query) {
+        currentQuery = query;
+        searchController.search(query, new SearchController.Callback() {
+            @Override
+            public void onSearchResults(List<Book> books) {
+                // Ignore results for a query the user has already typed past
+                if (!query.equals(currentQuery)) {
+                    return;
+                }
+                adapter.updateBooks(books);
+                hasMore = !books.isEmpty();
+            }
+            
+            @Override
+            public void onError(String error) {
+                // Show error
+            }
+        });
+    }
+    
+    private void loadNextPage() {
+        String query = currentQuery;
+        loadingMore = true;
+        searchController.loadMore(query, new SearchController.PageCallback() {
+            @Override
+            public void onPageLoaded(List<Book> newBooks, boolean more) {
+                if (!query.equals(currentQuery)) {
+                    return;
+                }
+                loadingMore = false;
+                hasMore = more;
+                adapter.appendBooks(newBooks);
+            }
+            
+            @Override
+            public void onError(String error) {
+                if (query.equals(currentQuery)) {
+                    // Allow another attempt on the next scroll
+                    loadingMore = false;
+                }
+            }
+        });
+    }
 }
 
@@ -0,0 +1,355 @@
+package com.example.booktalk.util;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded worker pool shared by every repository and background job
+ * Tasks wait in priority lanes (user-blocking first, background prefetch last);
+ * background tasks never take more than MAX_BACKGROUND_RUNNING workers, so a
+ * category refresh cannot keep a detail-page load waiting for a thread.
+ * The running task's priority is visible to the network layer via currentPriority()
+ * Blocking calls a task hands off (detail calls, hedges, raced queries) run on smaller
+ * pools from newPool(), ordered and capped the same way; they are separate from the
+ * workers so a task never waits on work queued behind itself
+ */
+public class TaskScheduler {
+    private static final String TAG = "TaskScheduler";
+    private static final int MAX_THREADS = 4;
+    private static final int MAX_BACKGROUND_RUNNING = 2;
+    private static final long KEEP_ALIVE_SECONDS = 30;
+    private static final long SLOW_WAIT_MS = 1000; // log tasks that queued longer than this
+    
+    public enum Priority {
+        USER_BLOCKING,  // the user is looking at a spinner (detail page, search)
+        USER_VISIBLE,   // on screen but something is already shown (home rows, next page)
+        BACKGROUND      // prefetch, refresh-ahead, sync jobs
+    }
+    
+    private static final List<TaskScheduler> POOLS = new CopyOnWriteArrayList<>();
+    private static final TaskScheduler INSTANCE = new TaskScheduler("worker", MAX_THREADS, MAX_BACKGROUND_RUNNING);
+    private static final ThreadLocal<Priority> CURRENT_PRIORITY = new ThreadLocal<>();
+    
+    private final String name;
+    private final int maxThreads;
+    private final int maxBackgroundRunning;
+    private final ExecutorService workers;
+    private final PriorityQueue<Task> pending = new PriorityQueue<>();
+    private final Map<Priority, LaneStats> laneStats = new EnumMap<>(Priority.class);
+    private long nextSequence;
+    private int running;
+    private int runningBackground;
+    
+    private TaskScheduler(String name, int maxThreads, int maxBackgroundRunning) {
+        this.name = name;
+        this.maxThreads = maxThreads;
+        this.maxBackgroundRunning = maxBackgroundRunning;
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "booktalk-" + name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxThreads, maxThreads,
+                KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+        pool.allowCoreThreadTimeOut(true);
+        workers = pool;
+        for (Priority priority : Priority.values()) {
+            laneStats.put(priority, new LaneStats());
+        }
+        POOLS.add(this);
+    }
+    
+    public static TaskScheduler getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Create a bounded pool for blocking calls handed off by a running task
+     * @param maxThreads Calls running at once
+     * @param maxBackgroundRunning Threads background calls may hold (e.g. while waiting for rate limiter tokens)
+     */
+    public static TaskScheduler newPool(String name, int maxThreads, int maxBackgroundRunning) {
+        return new TaskScheduler(name, maxThreads, maxBackgroundRunning);
+    }
+    
+    /**
+     * Queue depth and wait times of the workers and every pool
+     */
+    public static String describeAll() {
+        StringBuilder sb = new StringBuilder();
+        for (TaskScheduler pool : POOLS) {
+            if (sb.length() > 0) {
+                sb.append('\n');
+            }
+            sb.append(pool);
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * Priority of the task running on this thread (USER_VISIBLE outside the scheduler)
+     */
+    public static Priority currentPriority() {
+        Priority priority = CURRENT_PRIORITY.get();
+        return priority != null ? priority : Priority.USER_VISIBLE;
+    }
+    
+    /**
+     * Queue a task in its priority lane
+     * @return Handle for reprioritize() / cancel() while the task is still queued
+     */
+    public Task execute(Priority priority, Runnable runnable) {
+        Task task;
+        synchronized (this) {
+            task = new Task(priority, nextSequence++, runnable);
+            pending.add(task);
+            laneStats.get(priority).queued++;
+        }
+        dispatch();
+        return task;
+    }
+    
+    /**
+     * Move a queued task to another lane (keeps its place among tasks queued before it)
+     * @return false if the task already started or was cancelled
+     */
+    public boolean reprioritize(Task task, Priority priority) {
+        synchronized (this) {
+            if (!pending.remove(task)) {
+                return false;
+            }
+            laneStats.get(task.priority).queued--;
+            task.priority = priority;
+            pending.add(task);
+            laneStats.get(priority).queued++;
+        }
+        dispatch();
+        return true;
+    }
+    
+    /**
+     * Drop a queued task
+     * @return false if the task already started (it then runs to completion)
+     */
+    public synchronized boolean cancel(Task task) {
+        if (!pending.remove(task)) {
+            return false;
+        }
+        laneStats.get(task.priority).queued--;
+        return true;
+    }
+    
+    /**
+     * Queue a task at the caller's priority and get its result through a Future
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        FutureTask<T> future = new FutureTask<>(task);
+        execute(currentPriority(), future);
+        return future;
+    }
+    
+    /**
+     * Executor view that queues each runnable at the submitting thread's priority
+     * (for ExecutorCompletionService)
+     */
+    public Executor asExecutor() {
+        return runnable -> execute(currentPriority(), runnable);
+    }
+    
+    /**
+     * Create a queue whose tasks run one at a time, in priority order, on the shared workers
+     * For repositories that relied on a single-thread executor to keep their work sequential
+     */
+    public SerialQueue newSerialQueue() {
+        return new SerialQueue();
+    }
+    
+    /**
+     * Tasks waiting for a worker in the given lane
+     */
+    public synchronized int getQueueDepth(Priority priority) {
+        return laneStats.get(priority).queued;
+    }
+    
+    /**
+     * Average time tasks of the given lane waited for a worker
+     */
+    public synchronized long getAverageWaitMs(Priority priority) {
+        LaneStats stats = laneStats.get(priority);
+        return stats.started == 0 ? 0 : stats.totalWaitMs / stats.started;
+    }
+    
+    /**
+     * Longest time a task of the given lane waited for a worker
+     */
+    public synchronized long getMaxWaitMs(Priority priority) {
+        return laneStats.get(priority).maxWaitMs;
+    }
+    
+    /**
+     * Tasks of the given lane that have started running
+     */
+    public synchronized long getStartedCount(Priority priority) {
+        return laneStats.get(priority).started;
+    }
+    
+    public synchronized void resetStats() {
+        for (LaneStats stats : laneStats.values()) {
+            stats.started = 0;
+            stats.totalWaitMs = 0;
+            stats.maxWaitMs = 0;
+        }
+    }
+    
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder("TaskScheduler[").append(name).append("]{running=").append(running);
+        for (Priority priority : Priority.values()) {
+            LaneStats stats = laneStats.get(priority);
+            sb.append(", ").append(priority).append(": queued=").append(stats.queued)
+                    .append(" avgWait=").append(stats.started == 0 ? 0 : stats.totalWaitMs / stats.started).append("ms")
+                    .append(" maxWait=").append(stats.maxWaitMs).append("ms");
+        }
+        return sb.append('}').toString();
+    }
+    
+    /**
+     * Hand queued tasks to free workers, highest lane first
+     */
+    private void dispatch() {
+        while (true) {
+            Task task;
+            synchronized (this) {
+                task = pending.peek();
+                if (task == null || running >= maxThreads) {
+                    return;
+                }
+                // The queue is ordered by lane, so a background head means only background work is left
+                if (task.priority == Priority.BACKGROUND && runningBackground >= maxBackgroundRunning) {
+                    return;
+                }
+                pending.poll();
+                running++;
+                if (task.priority == Priority.BACKGROUND) {
+                    runningBackground++;
+                }
+                laneStats.get(task.priority).queued--;
+            }
+            workers.execute(() -> run(task));
+        }
+    }
+    
+    private void run(Task task) {
+        long waitMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - task.enqueuedAtNanos);
+        synchronized (this) {
+            LaneStats stats = laneStats.get(task.priority);
+            stats.started++;
+            stats.totalWaitMs += waitMs;
+            stats.maxWaitMs = Math.max(stats.maxWaitMs, waitMs);
+        }
+        if (waitMs > SLOW_WAIT_MS) {
+            android.util.Log.d(TAG, task.priority + " task waited " + waitMs + " ms for a " + name + " thread");
+        }
+        
+        CURRENT_PRIORITY.set(task.priority);
+        try {
+            task.runnable.run();
+        } catch (RuntimeException e) {
+            android.util.Log.e(TAG, "Task failed: " + e.getMessage(), e);
+        } finally {
+            CURRENT_PRIORITY.remove();
+            synchronized (this) {
+                running--;
+                if (task.priority == Priority.BACKGROUND) {
+                    runningBackground--;
+                }
+            }
+            dispatch();
+        }
+    }
+    
+    /**
+     * Runs its tasks one at a time; a queued user task still goes ahead of queued background ones
+     */
+    public class SerialQueue {
+        private final PriorityQueue<Task> queue = new PriorityQueue<>();
+        private long sequence;
+        private boolean active;
+        
+        private SerialQueue() {
+        }
+        
+        public void execute(Priority priority, Runnable runnable) {
+            synchronized (this) {
+                queue.add(new Task(priority, sequence++, runnable));
+                if (active) {
+                    return;
+                }
+                active = true;
+            }
+            scheduleNext();
+        }
+        
+        private void scheduleNext() {
+            Task next;
+            synchronized (this) {
+                next = queue.poll();
+                if (next == null) {
+                    active = false;
+                    return;
+                }
+            }
+            TaskScheduler.this.execute(next.priority, () -> {
+                try {
+                    next.runnable.run();
+                } finally {
+                    scheduleNext();
+                }
+            });
+        }
+    }
+    
+    /**
+     * A queued or running task
+     */
+    public static class Task implements Comparable<Task> {
+        private Priority priority; // changed only while out of the queue (reprioritize)
+        private final long sequence;
+        private final Runnable runnable;
+        private final long enqueuedAtNanos = System.nanoTime();
+        
+        private Task(Priority priority, long sequence, Runnable runnable) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.runnable = runnable;
+        }
+        
+        @Override
+        public int compareTo(Task other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+    
+    private static class LaneStats {
+        int queued;
+        long started;
+        long totalWaitMs;
+        long maxWaitMs;
+    }
+}
+
@@ -0,0 +1,140 @@
+package com.example.booktalk.data.remote;
+
+import com.example.booktalk.data.model.Book;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Edition dedup keys (normalizeTitle/normalizeAuthor) and dedupeEditions
+ */
+public class BookQualityFilterTest {
+    
+    @Test
+    public void normalizeTitle_dropsEditionSuffixesAndBrackets() {
+        String work = BookQualityFilter.normalizeTitle("The Hobbit");
+        assertEquals("hobbit", work);
+        assertEquals(work, BookQualityFilter.normalizeTitle("The Hobbit: 75th Anniversary Edition"));
+        assertEquals(work, BookQualityFilter.normalizeTitle("The Hobbit - Illustrated Edition"));
+        assertEquals(work, BookQualityFilter.normalizeTitle("The Hobbit (Penguin Classics)"));
+        assertEquals(work, BookQualityFilter.normalizeTitle("The Hobbit [Unabridged]"));
+        assertEquals(work, BookQualityFilter.normalizeTitle("  THE HOBBIT  "));
+    }
+    
+    @Test
+    public void normalizeTitle_keepsSeriesVolumes() {
+        assertNotEquals(BookQualityFilter.normalizeTitle("Attack on Titan (Vol. 1)"),
+                BookQualityFilter.normalizeTitle("Attack on Titan (Vol. 2)"));
+        assertNotEquals(BookQualityFilter.normalizeTitle("The Expanse [Book 3]"),
+                BookQualityFilter.normalizeTitle("The Expanse [Book 4]"));
+        assertEquals("attackontitanvol1", BookQualityFilter.normalizeTitle("Attack on Titan (Vol. 1)"));
+        // An edition note next to the volume keeps the volume number
+        assertEquals("attackontitanvol1",
+                BookQualityFilter.normalizeTitle("Attack on Titan (Vol. 1) (Deluxe Edition)"));
+    }
+    
+    @Test
+    public void normalizeTitle_keepsCjkLetters() {
+        assertEquals("三体", BookQualityFilter.normalizeTitle("三体"));
+        assertNotEquals(BookQualityFilter.normalizeTitle("三体"), BookQualityFilter.normalizeTitle("活着"));
+        assertEquals("ノルウェイの森", BookQualityFilter.normalizeTitle("ノルウェイの森 (Illustrated Edition)"));
+    }
+    
+    @Test
+    public void normalizeTitle_null_isEmpty() {
+        assertEquals("", BookQualityFilter.normalizeTitle(null));
+    }
+    
+    @Test
+    public void normalizeAuthor_usesFirstAuthorLettersOnly() {
+        assertEquals("jrrtolkien", BookQualityFilter.normalizeAuthor("J. R. R. Tolkien"));
+        assertEquals("jrrtolkien", BookQualityFilter.normalizeAuthor("J.R.R. Tolkien, Alan Lee"));
+        assertEquals("村上春樹", BookQualityFilter.normalizeAuthor("村上 春樹"));
+        assertEquals("", BookQualityFilter.normalizeAuthor(null));
+    }
+    
+    @Test
+    public void dedupeEditions_mergesEditionsKeepingBestRanked() {
+        Book paperback = book("pb", "The Hobbit", "J.R.R. Tolkien", 120);
+        Book anniversary = book("an", "The Hobbit: 75th Anniversary Edition", "J. R. R. Tolkien", 900);
+        Book other = book("lotr", "The Fellowship of the Ring", "J.R.R. Tolkien", 500);
+        
+        List<Book> deduped = BookQualityFilter.dedupeEditions(Arrays.asList(paperback, other, anniversary));
+        
+        assertEquals(2, deduped.size());
+        assertSame(anniversary, deduped.get(0)); // keeps the cluster's first-appearance position
+        assertSame(other, deduped.get(1));
+    }
+    
+    @Test
+    public void dedupeEditions_keepsSeriesVolumesApart() {
+        List<Book> deduped = BookQualityFilter.dedupeEditions(Arrays.asList(
+                book("v1", "Attack on Titan (Vol. 1)", "Hajime Isayama", 300),
+                book("v2", "Attack on Titan (Vol. 2)", "Hajime Isayama", 200),
+                book("v3", "Attack on Titan (Vol. 3)", "Hajime Isayama", 100)));
+        
+        assertEquals(3, deduped.size());
+    }
+    
+    @Test
+    public void dedupeEditions_sameTitleDifferentAuthor_staysApart() {
+        List<Book> deduped = BookQualityFilter.dedupeEditions(Arrays.asList(
+                book("a", "Beloved", "Toni Morrison", 10),
+                book("b", "Beloved", "Someone Else", 5)));
+        
+        assertEquals(2, deduped.size());
+    }
+    
+    @Test
+    public void dedupeEditions_cjkTitles() {
+        List<Book> deduped = BookQualityFilter.dedupeEditions(Arrays.asList(
+                book("a", "三体", "刘慈欣", 50),
+                book("b", "三体 (Deluxe Edition)", "刘慈欣", 10),
+                book("c", "活着", "余华", 30)));
+        
+        assertEquals(2, deduped.size());
+        assertEquals("a", deduped.get(0).getBookId());
+        assertEquals("c", deduped.get(1).getBookId());
+    }
+    
+    @Test
+    public void dedupeEditions_borrowsDescriptionFromAnotherEdition() {
+        Book best = book("best", "Dune", "Frank Herbert", 1000);
+        best.setDescription(null);
+        Book reprint = book("reprint", "Dune: Deluxe Edition", "Frank Herbert", 10);
+        reprint.setDescription("Set on the desert planet Arrakis");
+        
+        List<Book> deduped = BookQualityFilter.dedupeEditions(Arrays.asList(reprint, best));
+        
+        assertEquals(1, deduped.size());
+        assertSame(best, deduped.get(0));
+        assertEquals("Set on the desert planet Arrakis", best.getDescription());
+    }
+    
+    @Test
+    public void dedupeEditions_keepsOwnDescription() {
+        Book best = book("best", "Dune", "Frank Herbert", 1000);
+        best.setDescription("Own description");
+        Book reprint = book("reprint", "Dune (Reprint)", "Frank Herbert", 10);
+        reprint.setDescription("Other description");
+        
+        List<Book> deduped = BookQualityFilter.dedupeEditions(Arrays.asList(reprint, best));
+        
+        assertEquals("Own description", deduped.get(0).getDescription());
+    }
+    
+    @Test
+    public void dedupeEditions_emptyOrNull_returnsEmptyList() {
+        assertTrue(BookQualityFilter.dedupeEditions(null).isEmpty());
+        assertTrue(BookQualityFilter.dedupeEditions(Arrays.<Book>asList()).isEmpty());
+    }
+    
+    private static Book book(String id, String title, String author, int ratingsCount) {
+        Book book = new Book(id, title, author, "https://covers.example/" + id, "Description of " + title);
+        book.setRatingsCount(ratingsCount);
+        return book;
+    }
+}
+
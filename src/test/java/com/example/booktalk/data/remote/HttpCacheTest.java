@@ -0,0 +1,134 @@
+package com.example.booktalk.data.remote;
+
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Disk cache behaviour of the client stack (revalidation, forced-stale mode, counters)
+ * against a local MockWebServer that answers like the Books API
+ */
+public class HttpCacheTest {
+    private static final String API_CACHE_CONTROL = "private, max-age=0, must-revalidate";
+    
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+    
+    private MockWebServer server;
+    private OfflineCacheInterceptor offlineCacheInterceptor;
+    private HttpCacheStats cacheStats;
+    private OkHttpClient client;
+    
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        
+        // Same interceptor order as RetrofitClient
+        offlineCacheInterceptor = new OfflineCacheInterceptor();
+        cacheStats = new HttpCacheStats();
+        client = new OkHttpClient.Builder()
+                .addInterceptor(offlineCacheInterceptor)
+                .addNetworkInterceptor(new RevalidatingCacheInterceptor())
+                .eventListenerFactory(cacheStats.listenerFactory())
+                .cache(new Cache(tempFolder.newFolder("http_cache"), 1024 * 1024))
+                .build();
+    }
+    
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+    
+    @Test
+    public void etag_secondReadRevalidatesAndReusesBody() throws Exception {
+        server.enqueue(new MockResponse()
+                .setHeader("Cache-Control", API_CACHE_CONTROL)
+                .setHeader("ETag", "\"v1\"")
+                .setBody("{\"items\":[]}"));
+        server.enqueue(new MockResponse().setResponseCode(304));
+        
+        assertEquals("{\"items\":[]}", get("/books/v1/volumes?q=dune"));
+        assertEquals("{\"items\":[]}", get("/books/v1/volumes?q=dune"));
+        
+        server.takeRequest();
+        RecordedRequest conditional = server.takeRequest();
+        assertEquals("\"v1\"", conditional.getHeader("If-None-Match"));
+        
+        HttpCacheStats.EndpointCounters counters = cacheStats.getCounters(ApiEndpoints.SEARCH);
+        assertEquals(1, counters.getMisses());
+        assertEquals(1, counters.getRevalidations());
+        assertEquals(1, counters.getNotModified());
+        assertEquals(0, counters.getHits());
+    }
+    
+    @Test
+    public void lastModified_secondReadSendsIfModifiedSince() throws Exception {
+        String lastModified = "Mon, 05 Jan 2026 10:00:00 GMT";
+        server.enqueue(new MockResponse()
+                .setHeader("Cache-Control", API_CACHE_CONTROL)
+                .setHeader("Last-Modified", lastModified)
+                .setBody("{\"id\":\"abc\"}"));
+        server.enqueue(new MockResponse().setResponseCode(304));
+        
+        get("/books/v1/volumes/abc");
+        assertEquals("{\"id\":\"abc\"}", get("/books/v1/volumes/abc"));
+        
+        server.takeRequest();
+        assertEquals(lastModified, server.takeRequest().getHeader("If-Modified-Since"));
+        
+        HttpCacheStats.EndpointCounters counters = cacheStats.getCounters(ApiEndpoints.DETAILS);
+        assertEquals(1, counters.getMisses());
+        assertEquals(1, counters.getNotModified());
+        assertEquals(0, cacheStats.getCounters(ApiEndpoints.SEARCH).getMisses());
+    }
+    
+    @Test
+    public void forceStale_servesCachedBodyWithoutNetwork() throws Exception {
+        server.enqueue(new MockResponse()
+                .setHeader("Cache-Control", API_CACHE_CONTROL)
+                .setHeader("ETag", "\"v1\"")
+                .setBody("cached"));
+        get("/books/v1/volumes?q=offline");
+        
+        offlineCacheInterceptor.setForceStale(true);
+        assertEquals("cached", get("/books/v1/volumes?q=offline"));
+        
+        assertEquals(1, server.getRequestCount());
+        HttpCacheStats.EndpointCounters counters = cacheStats.getCounters(ApiEndpoints.SEARCH);
+        assertEquals(1, counters.getHits());
+        assertEquals(0, counters.getRevalidations());
+    }
+    
+    @Test
+    public void forceStale_cacheMissFailsFastWith504() throws Exception {
+        offlineCacheInterceptor.setForceStale(true);
+        
+        Request request = new Request.Builder().url(server.url("/books/v1/volumes?q=never")).build();
+        try (Response response = client.newCall(request).execute()) {
+            assertEquals(504, response.code());
+        }
+        assertEquals(0, server.getRequestCount());
+    }
+    
+    private String get(String path) throws IOException {
+        Request request = new Request.Builder().url(server.url(path)).build();
+        try (Response response = client.newCall(request).execute()) {
+            assertTrue("HTTP " + response.code(), response.isSuccessful());
+            return response.body().string();
+        }
+    }
+}
+
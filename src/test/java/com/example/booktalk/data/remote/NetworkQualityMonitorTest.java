@@ -0,0 +1,115 @@
+package com.example.booktalk.data.remote;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * FetchProfile transitions driven by observed transfers, and how NetworkTelemetry times them
+ */
+public class NetworkQualityMonitorTest {
+    private static final long BODY_BYTES = 64 * 1024;
+    private static final long SLOW_BODY_MS = 2000; // ~260 kbps
+    private static final long FAST_BODY_MS = 10;   // ~52 Mbps
+    
+    @Test
+    public void profile_startsFull() {
+        NetworkQualityMonitor monitor = new NetworkQualityMonitor();
+        
+        assertEquals(FetchProfile.FULL, monitor.getProfile());
+        assertEquals(-1, monitor.getObservedKbps(), 0);
+    }
+    
+    @Test
+    public void slowTransfers_switchToSlowOnlyAfterMinSamples() {
+        NetworkQualityMonitor monitor = new NetworkQualityMonitor();
+        
+        monitor.onTransfer(BODY_BYTES, SLOW_BODY_MS);
+        monitor.onTransfer(BODY_BYTES, SLOW_BODY_MS);
+        assertEquals(FetchProfile.FULL, monitor.getProfile());
+        
+        monitor.onTransfer(BODY_BYTES, SLOW_BODY_MS);
+        assertEquals(FetchProfile.SLOW, monitor.getProfile());
+        assertTrue(monitor.getObservedKbps() < 500);
+    }
+    
+    @Test
+    public void fastTransfers_recoverFromSlow() {
+        NetworkQualityMonitor monitor = slowMonitor();
+        
+        monitor.onTransfer(BODY_BYTES, FAST_BODY_MS);
+        
+        assertEquals(FetchProfile.FULL, monitor.getProfile());
+    }
+    
+    @Test
+    public void smallBodies_areIgnored() {
+        NetworkQualityMonitor monitor = new NetworkQualityMonitor();
+        
+        for (int i = 0; i < 10; i++) {
+            monitor.onTransfer(1024, SLOW_BODY_MS);
+        }
+        
+        assertEquals(FetchProfile.FULL, monitor.getProfile());
+        assertEquals(-1, monitor.getObservedKbps(), 0);
+    }
+    
+    @Test
+    public void networkChanged_forgetsObservedThroughput() {
+        NetworkQualityMonitor monitor = slowMonitor();
+        
+        monitor.onNetworkChanged();
+        
+        assertEquals(FetchProfile.FULL, monitor.getProfile());
+        assertEquals(-1, monitor.getObservedKbps(), 0);
+    }
+    
+    @Test
+    public void telemetry_transferTimeExcludesTimeToFirstByte() {
+        NetworkTelemetry telemetry = new NetworkTelemetry(0);
+        long[] reported = new long[1];
+        telemetry.setTransferListener((bytes, durationMs) -> reported[0] = durationMs);
+        
+        // Slow server, fast link: 3 s before the headers, body read right away
+        NetworkTelemetry.Event event = telemetry.record(ApiEndpoints.SEARCH, 200, 3000, 0, false, null);
+        telemetry.recordResponseBytes(event, BODY_BYTES);
+        
+        assertTrue("duration: " + reported[0] + " ms", reported[0] >= 1 && reported[0] < 1000);
+    }
+    
+    @Test
+    public void telemetry_highLatencyFastBodies_stayFull() {
+        NetworkTelemetry telemetry = new NetworkTelemetry(0);
+        NetworkQualityMonitor monitor = new NetworkQualityMonitor();
+        telemetry.setTransferListener(monitor);
+        
+        for (int i = 0; i < 5; i++) {
+            NetworkTelemetry.Event event = telemetry.record(ApiEndpoints.SEARCH, 200, 3000, 0, false, null);
+            telemetry.recordResponseBytes(event, BODY_BYTES);
+        }
+        
+        assertEquals(FetchProfile.FULL, monitor.getProfile());
+    }
+    
+    @Test
+    public void telemetry_cacheHits_areNotReported() {
+        NetworkTelemetry telemetry = new NetworkTelemetry(0);
+        long[] reported = {-1};
+        telemetry.setTransferListener((bytes, durationMs) -> reported[0] = durationMs);
+        
+        NetworkTelemetry.Event event = telemetry.record(ApiEndpoints.SEARCH, 200, 0, 0, true, null);
+        telemetry.recordResponseBytes(event, BODY_BYTES);
+        
+        assertEquals(-1, reported[0]);
+    }
+    
+    private static NetworkQualityMonitor slowMonitor() {
+        NetworkQualityMonitor monitor = new NetworkQualityMonitor();
+        for (int i = 0; i < 3; i++) {
+            monitor.onTransfer(BODY_BYTES, SLOW_BODY_MS);
+        }
+        assertEquals(FetchProfile.SLOW, monitor.getProfile());
+        return monitor;
+    }
+}
+
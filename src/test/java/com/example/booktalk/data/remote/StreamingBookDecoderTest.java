@@ -0,0 +1,157 @@
+package com.example.booktalk.data.remote;
+
+import com.example.booktalk.data.model.Book;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * StreamingBookDecoder against the Gson BooksResponse -> BookMapper.toBookList path
+ * on a recorded-shape 40-item search page (missing titles/authors/covers, CJK titles,
+ * http thumbnails, saleInfo/accessInfo subtrees)
+ */
+public class StreamingBookDecoderTest {
+    private static final String FIXTURE = "volumes_search_40.json";
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int TIMED_ROUNDS = 1000;
+    // Items whose title is missing or null: the old filter saw "Unknown Title" and kept them
+    private static final Set<String> NULL_TITLE_IDS = new HashSet<>(Arrays.asList("vol3", "vol17", "vol29"));
+    
+    private static final Gson GSON = new Gson();
+    
+    private static String json;
+    
+    @BeforeClass
+    public static void loadFixture() throws IOException {
+        try (InputStream in = StreamingBookDecoderTest.class.getClassLoader().getResourceAsStream(FIXTURE)) {
+            assertNotNull("Missing fixture " + FIXTURE, in);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            json = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+    
+    @Test
+    public void decodePage_withoutFilter_matchesBookMapper() throws IOException {
+        BooksResponse response = decodeWithGson();
+        BookPage page = decodeStreaming(false);
+        
+        List<Book> expected = BookMapper.toBookList(response.getItems());
+        assertBooksEqual(expected, page.getBooks());
+        assertEquals(39, page.getBooks().size()); // one item has no volumeInfo
+        assertEquals(response.getTotalItems(), page.getTotalItems());
+        assertEquals(response.getItems().size(), page.getItemCount());
+    }
+    
+    @Test
+    public void decodePage_withFilter_matchesBasicFilterExceptNullTitles() throws IOException {
+        List<Book> expected = new ArrayList<>();
+        for (Book book : BookMapper.toBookList(decodeWithGson().getItems())) {
+            if (passesBasicFilter(book) && !NULL_TITLE_IDS.contains(book.getBookId())) {
+                expected.add(book);
+            }
+        }
+        BookPage page = decodeStreaming(true);
+        
+        assertBooksEqual(expected, page.getBooks());
+        assertEquals(40, page.getItemCount()); // rejected items still count towards paging
+        for (Book book : page.getBooks()) {
+            assertFalse(book.getTitle().equals("Unknown Title"));
+        }
+    }
+    
+    @Test
+    public void decodePage_keepsCjkTitlesAndUpgradesCoversToHttps() throws IOException {
+        BookPage page = decodeStreaming(true);
+        
+        List<String> titles = new ArrayList<>();
+        for (Book book : page.getBooks()) {
+            titles.add(book.getTitle());
+            assertTrue(book.getCoverUrl(), book.getCoverUrl().startsWith("https://"));
+        }
+        assertTrue(titles.containsAll(Arrays.asList("三体", "ノルウェイの森", "채식주의자", "活着")));
+    }
+    
+    @Test
+    public void decodePage_timings() throws IOException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            BookMapper.toBookList(decodeWithGson().getItems());
+            decodeStreaming(true);
+        }
+        
+        long start = System.nanoTime();
+        for (int i = 0; i < TIMED_ROUNDS; i++) {
+            BookMapper.toBookList(decodeWithGson().getItems());
+        }
+        long gsonNanos = System.nanoTime() - start;
+        
+        start = System.nanoTime();
+        for (int i = 0; i < TIMED_ROUNDS; i++) {
+            decodeStreaming(true);
+        }
+        long streamingNanos = System.nanoTime() - start;
+        
+        // Reported only: JIT and CI noise make a hard threshold flaky
+        System.out.printf("40-item page x%d: gson+mapper %.1f us/page, streaming %.1f us/page%n",
+                TIMED_ROUNDS, gsonNanos / 1000.0 / TIMED_ROUNDS, streamingNanos / 1000.0 / TIMED_ROUNDS);
+    }
+    
+    private static BooksResponse decodeWithGson() {
+        return GSON.fromJson(json, BooksResponse.class);
+    }
+    
+    private static BookPage decodeStreaming(boolean requireBasicFields) throws IOException {
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            return StreamingBookDecoder.decodePage(reader, requireBasicFields);
+        }
+    }
+    
+    /**
+     * The filter the repositories ran after BookMapper.toBookList before the streaming decoder
+     */
+    private static boolean passesBasicFilter(Book book) {
+        if (book.getTitle() == null || book.getTitle().trim().isEmpty()) {
+            return false;
+        }
+        if (book.getAuthor() == null || book.getAuthor().trim().isEmpty()
+                || book.getAuthor().equals("Unknown Author")) {
+            return false;
+        }
+        return book.getCoverUrl() != null && !book.getCoverUrl().trim().isEmpty();
+    }
+    
+    private static void assertBooksEqual(List<Book> expected, List<Book> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Book e = expected.get(i);
+            Book a = actual.get(i);
+            String id = e.getBookId();
+            assertEquals(id, e.getBookId(), a.getBookId());
+            assertEquals(id, e.getTitle(), a.getTitle());
+            assertEquals(id, e.getAuthor(), a.getAuthor());
+            assertEquals(id, e.getCoverUrl(), a.getCoverUrl());
+            assertEquals(id, e.getDescription(), a.getDescription());
+            assertEquals(id, e.getPublishedDate(), a.getPublishedDate());
+            assertEquals(id, e.getRatingsCount(), a.getRatingsCount());
+            assertEquals(id, e.getAverageRating(), a.getAverageRating());
+        }
+    }
+}
+
@@ -0,0 +1,86 @@
+package com.example.booktalk.data.remote;
+
+import org.junit.Test;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Foreground reserve kept by TokenBucketRateLimiter.acquireBackground
+ */
+public class TokenBucketRateLimiterTest {
+    private static final int CAPACITY = 10;
+    private static final int RESERVE = 3;
+    private static final double SLOW_REFILL = 0.001; // one token per ~17 min, so nothing refills during a test
+    
+    @Test
+    public void acquireBackground_leavesReserve() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(CAPACITY, SLOW_REFILL, RESERVE);
+        
+        for (int i = 0; i < CAPACITY - RESERVE; i++) {
+            limiter.acquireBackground();
+        }
+        
+        assertEquals(RESERVE, limiter.getAvailableTokens(), 0.01);
+    }
+    
+    @Test
+    public void concurrentBackgroundAcquires_neverDrainReserve() throws Exception {
+        // Fast enough refill that background callers keep racing for each new token
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(CAPACITY, 200, RESERVE);
+        CountDownLatch start = new CountDownLatch(1);
+        long stopAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500);
+        AtomicInteger acquired = new AtomicInteger();
+        double[] lowest = {CAPACITY};
+        List<Thread> threads = new ArrayList<>();
+        
+        for (int i = 0; i < 16; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    while (System.nanoTime() < stopAt) {
+                        limiter.acquireBackground();
+                        acquired.incrementAndGet();
+                        double tokens = limiter.getAvailableTokens();
+                        synchronized (lowest) {
+                            lowest[0] = Math.min(lowest[0], tokens);
+                        }
+                    }
+                } catch (InterruptedException | InterruptedIOException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join(5000);
+        }
+        
+        assertTrue("acquired: " + acquired.get(), acquired.get() > CAPACITY);
+        assertTrue("lowest: " + lowest[0], lowest[0] >= RESERVE - 0.01);
+        
+        // The reserve is still there for a foreground caller
+        long before = System.nanoTime();
+        limiter.acquire();
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - before) < 50);
+    }
+    
+    @Test
+    public void acquire_usesReserve() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(CAPACITY, SLOW_REFILL, RESERVE);
+        
+        for (int i = 0; i < CAPACITY; i++) {
+            limiter.acquire();
+        }
+        
+        assertEquals(0, limiter.getAvailableTokens(), 0.01);
+    }
+}
+
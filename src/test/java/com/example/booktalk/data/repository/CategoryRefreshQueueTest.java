@@ -0,0 +1,182 @@
+package com.example.booktalk.data.repository;
+
+import com.example.booktalk.data.model.Category;
+import com.example.booktalk.util.TaskScheduler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Dedup, visible-first ordering and lane promotion in CategoryRefreshQueue
+ * Runs on a one-thread pool whose thread is held by category 1's refresh, so the
+ * other refreshes stay queued until the test releases it
+ */
+public class CategoryRefreshQueueTest {
+    private static final int MAX_PARALLEL = 3;
+    private static final TaskScheduler POOL = TaskScheduler.newPool("refresh-test", 1, 1);
+    
+    private final List<Integer> ran = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> published = Collections.synchronizedList(new ArrayList<>());
+    private CountDownLatch release;
+    private CategoryRefreshQueue queue;
+    
+    @Before
+    public void setUp() {
+        release = new CountDownLatch(1);
+        queue = new CategoryRefreshQueue(POOL, MAX_PARALLEL);
+    }
+    
+    @After
+    public void tearDown() {
+        release.countDown();
+    }
+    
+    @Test
+    public void enqueue_sameCategoryTwice_runsOnceAndReportsToLatestCaller() throws Exception {
+        CountDownLatch done = new CountDownLatch(2);
+        queue.enqueue(1, refresh(1, done), null);
+        queue.enqueue(2, refresh(2, done), callback("first"));
+        
+        assertFalse(queue.enqueue(2, refresh(2, done), callback("second")));
+        assertEquals(2, queue.getDispatchedCount());
+        
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        awaitIdle();
+        assertEquals(Arrays.asList(1, 2), ran);
+        assertEquals(Collections.singletonList("second"), published);
+    }
+    
+    @Test
+    public void enqueue_runsAtMostMaxParallel() throws Exception {
+        CountDownLatch done = new CountDownLatch(5);
+        for (int id = 1; id <= 5; id++) {
+            queue.enqueue(id, refresh(id, done), null);
+        }
+        
+        assertEquals(MAX_PARALLEL, queue.getDispatchedCount());
+        assertEquals(2, queue.getWaitingCount());
+        
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        awaitIdle();
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), ran);
+    }
+    
+    @Test
+    public void setVisibleCategories_promotesQueuedBackgroundRefresh() throws Exception {
+        CountDownLatch done = new CountDownLatch(3);
+        queue.enqueue(1, refresh(1, done), null);
+        queue.enqueue(2, refresh(2, done), null);
+        queue.enqueue(3, refresh(3, done), null);
+        assertEquals(0, POOL.getQueueDepth(TaskScheduler.Priority.USER_VISIBLE));
+        
+        queue.setVisibleCategories(Collections.singletonList(3));
+        
+        assertEquals(1, POOL.getQueueDepth(TaskScheduler.Priority.USER_VISIBLE));
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        awaitIdle();
+        assertEquals(Arrays.asList(1, 3, 2), ran);
+    }
+    
+    @Test
+    public void setVisibleCategories_visibleWaitingTakesSlotOfQueuedOutOfView() throws Exception {
+        CountDownLatch done = new CountDownLatch(4);
+        for (int id = 1; id <= 4; id++) {
+            queue.enqueue(id, refresh(id, done), null);
+        }
+        assertEquals(1, queue.getWaitingCount());
+        
+        queue.setVisibleCategories(Collections.singletonList(4));
+        
+        // Category 3 (queued last, out of view) gave its slot to 4
+        assertEquals(MAX_PARALLEL, queue.getDispatchedCount());
+        assertEquals(1, queue.getWaitingCount());
+        assertEquals(1, POOL.getQueueDepth(TaskScheduler.Priority.USER_VISIBLE));
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        awaitIdle();
+        assertEquals(Arrays.asList(1, 4, 2, 3), ran);
+    }
+    
+    @Test
+    public void setVisibleCategories_ordersWaitingRefreshesVisibleFirst() throws Exception {
+        CountDownLatch done = new CountDownLatch(6);
+        queue.enqueue(1, refresh(1, done), null);
+        queue.setVisibleCategories(Arrays.asList(1, 6));
+        for (int id = 2; id <= 6; id++) {
+            queue.enqueue(id, refresh(id, done), null);
+        }
+        
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        awaitIdle();
+        assertEquals(Arrays.asList(1, 6, 2, 3, 4, 5), ran);
+    }
+    
+    @Test
+    public void detach_dropsCallbackAndVisibleRows() throws Exception {
+        CountDownLatch done = new CountDownLatch(3);
+        HomeRepository.CategoriesUpdateCallback screen = callback("screen");
+        queue.setVisibleCategories(Collections.singletonList(3));
+        queue.enqueue(1, refresh(1, done), screen);
+        queue.enqueue(2, refresh(2, done), screen);
+        
+        queue.detach(screen);
+        queue.enqueue(3, refresh(3, done), null);
+        
+        assertEquals(0, POOL.getQueueDepth(TaskScheduler.Priority.USER_VISIBLE));
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        awaitIdle();
+        assertEquals(Arrays.asList(1, 2, 3), ran);
+        assertTrue(published.isEmpty());
+    }
+    
+    /**
+     * Refresh that records its category; category 1 holds the pool's thread until release
+     */
+    private CategoryRefreshQueue.Refresh refresh(int categoryId, CountDownLatch done) {
+        return new CategoryRefreshQueue.Refresh() {
+            @Override
+            public boolean run() {
+                if (categoryId == 1) {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                ran.add(categoryId);
+                done.countDown();
+                return true;
+            }
+            
+            @Override
+            public void publish(HomeRepository.CategoriesUpdateCallback callback) {
+                callback.onCategoriesUpdated(new ArrayList<Category>());
+            }
+        };
+    }
+    
+    private HomeRepository.CategoriesUpdateCallback callback(String name) {
+        return categories -> published.add(name);
+    }
+    
+    private void awaitIdle() throws InterruptedException {
+        long giveUpAt = System.currentTimeMillis() + 5000;
+        while (queue.getDispatchedCount() > 0 && System.currentTimeMillis() < giveUpAt) {
+            Thread.sleep(10);
+        }
+    }
+}
+
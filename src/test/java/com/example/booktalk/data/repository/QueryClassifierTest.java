@@ -0,0 +1,157 @@
+package com.example.booktalk.data.repository;
+
+import com.example.booktalk.data.dao.BookDao;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * ISBN detection and query shapes picked by QueryClassifier
+ * The books table is replaced by a fixed author list (BookDao.findAuthorName itself is
+ * covered against a real database in androidTest)
+ */
+public class QueryClassifierTest {
+    private static final List<String> KNOWN_AUTHORS = Arrays.asList("Frank Herbert", "Ursula K. Le Guin");
+    
+    private final QueryClassifier classifier = new QueryClassifier(new BookDao(null) {
+        @Override
+        public String findAuthorName(String name) {
+            String wanted = name.toLowerCase().replaceAll("[.\\s]+", "");
+            for (String author : KNOWN_AUTHORS) {
+                if (author.toLowerCase().replaceAll("[.\\s]+", "").equals(wanted)) {
+                    return author;
+                }
+            }
+            return null;
+        }
+    });
+    
+    @Test
+    public void extractIsbn_validIsbn13() {
+        assertEquals("9780306406157", QueryClassifier.extractIsbn("9780306406157"));
+        assertEquals("9780306406157", QueryClassifier.extractIsbn("978-0-306-40615-7"));
+        assertEquals("9780306406157", QueryClassifier.extractIsbn("978 0 306 40615 7"));
+    }
+    
+    @Test
+    public void extractIsbn_validIsbn10() {
+        assertEquals("0306406152", QueryClassifier.extractIsbn("0306406152"));
+        assertEquals("0306406152", QueryClassifier.extractIsbn("0-306-40615-2"));
+    }
+    
+    @Test
+    public void extractIsbn_isbn10WithXCheckDigit() {
+        assertEquals("080442957X", QueryClassifier.extractIsbn("0-8044-2957-X"));
+        assertEquals("080442957X", QueryClassifier.extractIsbn("080442957x"));
+    }
+    
+    @Test
+    public void extractIsbn_prefixes() {
+        assertEquals("9780306406157", QueryClassifier.extractIsbn("ISBN: 978-0-306-40615-7"));
+        assertEquals("9780306406157", QueryClassifier.extractIsbn("ISBN-13: 9780306406157"));
+        assertEquals("0306406152", QueryClassifier.extractIsbn("isbn 0306406152"));
+        assertEquals("080442957X", QueryClassifier.extractIsbn("ISBN-10:080442957X"));
+    }
+    
+    @Test
+    public void extractIsbn_badChecksum_isNull() {
+        assertNull(QueryClassifier.extractIsbn("9780306406158"));
+        assertNull(QueryClassifier.extractIsbn("ISBN: 978-0-306-40615-8"));
+        assertNull(QueryClassifier.extractIsbn("0306406153"));
+        assertNull(QueryClassifier.extractIsbn("0804429571"));
+    }
+    
+    @Test
+    public void extractIsbn_notAnIsbn_isNull() {
+        assertNull(QueryClassifier.extractIsbn("1984"));
+        assertNull(QueryClassifier.extractIsbn("dune"));
+        assertNull(QueryClassifier.extractIsbn("1234567890123")); // 13 digits without 978/979
+        assertNull(QueryClassifier.extractIsbn("X804429570"));    // X only as the check digit
+        assertNull(QueryClassifier.extractIsbn(""));
+    }
+    
+    @Test
+    public void checksums() {
+        assertTrue(QueryClassifier.hasValidIsbn10Checksum("0306406152"));
+        assertTrue(QueryClassifier.hasValidIsbn10Checksum("080442957X"));
+        assertFalse(QueryClassifier.hasValidIsbn10Checksum("0306406153"));
+        assertTrue(QueryClassifier.hasValidIsbn13Checksum("9780306406157"));
+        assertTrue(QueryClassifier.hasValidIsbn13Checksum("9791234567896"));
+        assertFalse(QueryClassifier.hasValidIsbn13Checksum("9780306406150"));
+    }
+    
+    @Test
+    public void classify_isbn() {
+        QueryClassifier.Classification classification = classifier.classify("ISBN 978-0-306-40615-7");
+        
+        assertEquals(QueryClassifier.Type.ISBN, classification.getType());
+        assertEquals("isbn:9780306406157", classification.getPrimaryQuery());
+        assertEquals("9780306406157", classification.getFallbackQuery());
+        assertEquals(1, classification.getMinResults());
+        assertTrue(classification.isConfident());
+    }
+    
+    @Test
+    public void classify_quotedTitle() {
+        QueryClassifier.Classification classification = classifier.classify("\"The Left Hand of Darkness\"");
+        
+        assertEquals(QueryClassifier.Type.QUOTED_TITLE, classification.getType());
+        assertEquals("intitle:\"The Left Hand of Darkness\"", classification.getPrimaryQuery());
+        assertEquals("The Left Hand of Darkness", classification.getFallbackQuery());
+        assertEquals(1, classification.getMinResults());
+    }
+    
+    @Test
+    public void classify_curlyQuotedTitle() {
+        QueryClassifier.Classification classification = classifier.classify("“Dune”");
+        
+        assertEquals(QueryClassifier.Type.QUOTED_TITLE, classification.getType());
+        assertEquals("intitle:\"Dune\"", classification.getPrimaryQuery());
+    }
+    
+    @Test
+    public void classify_emptyQuotes_isFreeText() {
+        assertEquals(QueryClassifier.Type.FREE_TEXT, classifier.classify("\" \"").getType());
+    }
+    
+    @Test
+    public void classify_titleByKnownAuthor() {
+        QueryClassifier.Classification classification = classifier.classify("Dune by frank herbert");
+        
+        assertEquals(QueryClassifier.Type.TITLE_AND_AUTHOR, classification.getType());
+        assertEquals("intitle:\"Dune\" inauthor:\"Frank Herbert\"", classification.getPrimaryQuery());
+        assertEquals("Dune Frank Herbert", classification.getFallbackQuery());
+    }
+    
+    @Test
+    public void classify_titleByUnknownAuthor_isFreeText() {
+        QueryClassifier.Classification classification = classifier.classify("Stand by Me");
+        
+        assertEquals(QueryClassifier.Type.FREE_TEXT, classification.getType());
+        assertEquals("intitle:\"Stand by Me\"", classification.getPrimaryQuery());
+        assertEquals("Stand by Me", classification.getFallbackQuery());
+        assertEquals(10, classification.getMinResults());
+        assertFalse(classification.isConfident());
+    }
+    
+    @Test
+    public void classify_knownAuthor() {
+        QueryClassifier.Classification classification = classifier.classify("ursula k le guin");
+        
+        assertEquals(QueryClassifier.Type.AUTHOR, classification.getType());
+        assertEquals("inauthor:\"Ursula K. Le Guin\"", classification.getPrimaryQuery());
+        assertEquals("ursula k le guin", classification.getFallbackQuery());
+    }
+    
+    @Test
+    public void classify_freeText() {
+        QueryClassifier.Classification classification = classifier.classify("  desert planet  ");
+        
+        assertEquals(QueryClassifier.Type.FREE_TEXT, classification.getType());
+        assertEquals("intitle:\"desert planet\"", classification.getPrimaryQuery());
+        assertEquals("desert planet", classification.getFallbackQuery());
+    }
+}
+